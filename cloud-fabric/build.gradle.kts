@@ -106,4 +106,16 @@ val testmodJar by tasks.registering(Jar::class) {
 tasks.withType<AbstractRunTask> {
     classpath(testmodJar)
 }
+
+/* a dedicated server replaying synthetic command traffic, see FabricStressTest for the cloud.stress.* properties */
+loom {
+    runs {
+        register("stressServer") {
+            server()
+            runDir("run/stress")
+            vmArg("-Dcloud.stress=true")
+            vmArg("-Dcloud.stress.exit=true")
+        }
+    }
+}
 /* end of testmod setup */
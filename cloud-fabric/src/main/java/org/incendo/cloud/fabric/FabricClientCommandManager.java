@@ -88,7 +88,8 @@ public final class FabricClientCommandManager<C> extends FabricCommandManager<C,
             this,
             FabricClientCommandSource::sendError,
             source -> source.getPlayer().getGameProfile().getName(),
-            new MinecraftCaptionFormatter<>()
+            new MinecraftCaptionFormatter<>(),
+            this.exceptionHandlerSettings()
         );
     }
 
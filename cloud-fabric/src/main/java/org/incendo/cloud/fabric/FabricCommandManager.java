@@ -33,9 +33,20 @@ import org.incendo.cloud.brigadier.BrigadierManagerHolder;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
 import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.CommandAdmissionSettings;
+import org.incendo.cloud.minecraft.modded.CommandMetrics;
+import org.incendo.cloud.minecraft.modded.CommandTreeSettings;
+import org.incendo.cloud.minecraft.modded.ExceptionHandlerSettings;
+import org.incendo.cloud.minecraft.modded.SlowCommandSettings;
+import org.incendo.cloud.minecraft.modded.SuggestionMetrics;
+import org.incendo.cloud.minecraft.modded.SuggestionSettings;
 import org.incendo.cloud.minecraft.modded.caption.ModdedDefaultCaptionsProvider;
+import org.incendo.cloud.minecraft.modded.internal.AdmissionControlledCoordinator;
+import org.incendo.cloud.minecraft.modded.internal.AsyncSuggestionFactory;
+import org.incendo.cloud.minecraft.modded.internal.MeasuringCoordinator;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 import org.incendo.cloud.minecraft.modded.internal.ModdedPreprocessor;
+import org.incendo.cloud.minecraft.modded.internal.SourceKeys;
 import org.incendo.cloud.suggestion.SuggestionFactory;
 
 /**
@@ -58,6 +69,13 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
     private final SenderMapper<S, C> senderMapper;
     private final CloudBrigadierManager<C, S> brigadierManager;
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
+    private final ExceptionHandlerSettings exceptionHandlerSettings = new ExceptionHandlerSettings();
+    private final CommandAdmissionSettings admissionSettings;
+    private final SuggestionSettings suggestionSettings = new SuggestionSettings();
+    private final CommandTreeSettings commandTreeSettings = new CommandTreeSettings();
+    private final SuggestionMetrics suggestionMetrics;
+    private final CommandMetrics commandMetrics;
+    private final SlowCommandSettings slowCommandSettings;
 
 
     /**
@@ -76,15 +94,50 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
      * @since 1.5.0
      */
     @API(status = API.Status.STABLE, since = "2.0.0")
-    @SuppressWarnings("unchecked")
     FabricCommandManager(
         final @NonNull ExecutionCoordinator<C> commandExecutionCoordinator,
         final @NonNull SenderMapper<S, C> senderMapper,
         final @NonNull FabricCommandRegistrationHandler<C, S> registrationHandler
     ) {
-        super(commandExecutionCoordinator, registrationHandler);
+        this(
+            commandExecutionCoordinator,
+            senderMapper,
+            registrationHandler,
+            new CommandAdmissionSettings(),
+            new CommandMetrics(),
+            new SlowCommandSettings()
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private FabricCommandManager(
+        final @NonNull ExecutionCoordinator<C> commandExecutionCoordinator,
+        final @NonNull SenderMapper<S, C> senderMapper,
+        final @NonNull FabricCommandRegistrationHandler<C, S> registrationHandler,
+        final @NonNull CommandAdmissionSettings admissionSettings,
+        final @NonNull CommandMetrics commandMetrics,
+        final @NonNull SlowCommandSettings slowCommandSettings
+    ) {
+        super(
+            new AdmissionControlledCoordinator<>(
+                new MeasuringCoordinator<>(commandExecutionCoordinator, commandMetrics, slowCommandSettings),
+                senderMapper,
+                admissionSettings
+            ),
+            registrationHandler
+        );
+        this.admissionSettings = admissionSettings;
+        this.commandMetrics = commandMetrics;
+        this.slowCommandSettings = slowCommandSettings;
+        commandMetrics.attach(this.getClass().getSimpleName());
         this.senderMapper = senderMapper;
-        this.suggestionFactory = super.suggestionFactory().mapped(TooltipSuggestion::tooltipSuggestion);
+        final AsyncSuggestionFactory<C, ?> asyncSuggestionFactory = AsyncSuggestionFactory.wrap(
+            super.suggestionFactory(),
+            context -> SourceKeys.entityId(ModdedPreprocessor.nativeSource(context, senderMapper)),
+            this.suggestionSettings
+        );
+        this.suggestionMetrics = asyncSuggestionFactory;
+        this.suggestionFactory = asyncSuggestionFactory.mapped(TooltipSuggestion::tooltipSuggestion);
 
         // We're always brigadier
         this.brigadierManager = new CloudBrigadierManager<>(
@@ -95,6 +148,7 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
         ModdedParserMappings.register(this, this.brigadierManager);
         this.captionRegistry().registerProvider(new ModdedDefaultCaptionsProvider<>());
         this.registerCommandPreProcessor(new ModdedPreprocessor<>(senderMapper));
+        this.registerCommandPostProcessor(MeasuringCoordinator.postprocessor());
 
         ((FabricCommandRegistrationHandler<C, S>) this.commandRegistrationHandler()).initialize(this);
     }
@@ -136,6 +190,84 @@ public abstract class FabricCommandManager<C, S extends SharedSuggestionProvider
         return this.brigadierManager;
     }
 
+    /**
+     * Returns the settings used by the default exception handlers of this manager.
+     *
+     * @return the exception handler settings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull ExceptionHandlerSettings exceptionHandlerSettings() {
+        return this.exceptionHandlerSettings;
+    }
+
+    /**
+     * Returns the per-entity command admission limits of this manager.
+     *
+     * @return the admission settings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull CommandAdmissionSettings admissionSettings() {
+        return this.admissionSettings;
+    }
+
+    /**
+     * Returns the settings for how suggestions are computed for Brigadier tab completion.
+     *
+     * @return the suggestion settings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull SuggestionSettings suggestionSettings() {
+        return this.suggestionSettings;
+    }
+
+    /**
+     * Returns counters for the asynchronous suggestion requests handled by this manager, including how many were
+     * superseded by newer requests.
+     *
+     * @return the suggestion metrics
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull SuggestionMetrics suggestionMetrics() {
+        return this.suggestionMetrics;
+    }
+
+    /**
+     * Returns the parse, suggestion, execution and permission check latencies recorded by this manager.
+     *
+     * @return the command metrics
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull CommandMetrics commandMetrics() {
+        return this.commandMetrics;
+    }
+
+    /**
+     * Returns the settings of the watchdog reporting slow command handlers.
+     *
+     * @return the slow command settings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull SlowCommandSettings slowCommandSettings() {
+        return this.slowCommandSettings;
+    }
+
+    /**
+     * Returns the settings for how commands are sent to players in the command tree packet.
+     *
+     * @return the command tree settings
+     * @since 2.0.0
+     */
+    @API(status = API.Status.STABLE, since = "2.0.0")
+    public final @NonNull CommandTreeSettings commandTreeSettings() {
+        return this.commandTreeSettings;
+    }
+
     /* transition state to prevent further registration */
     final void registrationCalled() {
         this.lockRegistration();
@@ -26,27 +26,40 @@ package org.incendo.cloud.fabric;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
 import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.server.MinecraftServer;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.brigadier.CloudBrigadierCommand;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.minecraft.modded.ModdedCommandMetaKeys;
+import org.incendo.cloud.minecraft.modded.internal.CommandRootNodeCache;
+import org.incendo.cloud.minecraft.modded.internal.CommandTracing;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeCache;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeHooks;
 import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
+import org.incendo.cloud.minecraft.modded.internal.LazyLiteralCommandNode;
+import org.incendo.cloud.minecraft.modded.internal.LiveCommandUpdates;
 
 import static org.incendo.cloud.brigadier.util.BrigadierUtil.buildRedirect;
 
@@ -73,33 +86,32 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
     static class Client<C> extends FabricCommandRegistrationHandler<C, FabricClientCommandSource> {
 
         private final Set<Command<C>> registeredCommands = ConcurrentHashMap.newKeySet();
-        private volatile boolean registerEventFired = false;
+        private final Set<Command<C>> pendingCommands = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean pendingScheduled = new AtomicBoolean();
+        private final CommandRootNodeCache<FabricClientCommandSource> rootNodes = new CommandRootNodeCache<>();
+        private volatile @Nullable CommandBuildContext buildContext;
 
         @Override
         void initialize(final FabricCommandManager<C, FabricClientCommandSource> manager) {
             super.initialize(manager);
             ClientCommandRegistrationCallback.EVENT.register(this::registerCommands);
-            ClientPlayConnectionEvents.DISCONNECT.register(($, $$) -> this.registerEventFired = false);
+            ClientPlayConnectionEvents.DISCONNECT.register(($, $$) -> {
+                this.buildContext = null;
+                this.pendingCommands.clear();
+            });
         }
 
         @Override
         public boolean registerCommand(final @NonNull Command<C> command) {
             this.registeredCommands.add(command);
-            if (this.registerEventFired) {
-                final ClientPacketListener connection = Minecraft.getInstance().getConnection();
-                if (connection == null) {
-                    throw new IllegalStateException("Expected connection to be present but it wasn't!");
+            /* The cached nodes of the root no longer include every command */
+            this.rootNodes.invalidate(command.rootComponent().name());
+            if (this.buildContext != null) {
+                /* Commands registered while connected are added to the active dispatcher together on the next tick */
+                this.pendingCommands.add(command);
+                if (this.pendingScheduled.compareAndSet(false, true)) {
+                    Minecraft.getInstance().tell(this::registerPendingCommands);
                 }
-                final CommandDispatcher<FabricClientCommandSource> dispatcher = ClientCommandManager.getActiveDispatcher();
-                if (dispatcher == null) {
-                    throw new IllegalStateException("Expected an active dispatcher!");
-                }
-                ContextualArgumentTypeProvider.withBuildContext(
-                        this.commandManager(),
-                        CommandBuildContext.simple(connection.registryAccess(), connection.enabledFeatures()),
-                        false,
-                        () -> this.registerClientCommand(dispatcher, command)
-                );
             }
             return true;
         }
@@ -108,24 +120,52 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                 final CommandDispatcher<FabricClientCommandSource> dispatcher,
                 final CommandBuildContext commandBuildContext
         ) {
-            this.registerEventFired = true;
+            this.buildContext = commandBuildContext;
+            this.pendingCommands.clear();
+            final ClientPacketListener connection = Minecraft.getInstance().getConnection();
+            final boolean registriesChanged = this.rootNodes.registryAccess(connection == null ? null : connection.registryAccess());
+            final CommandTracing.TreeRegistrationEvent event = CommandTracing.beginTreeRegistration();
             ContextualArgumentTypeProvider.withBuildContext(
                     this.commandManager(),
                     commandBuildContext,
-                    true,
+                    registriesChanged,
+                    () -> CommandRootNodeCache.byRoot(this.registeredCommands).forEach((name, commands) -> this.rootNodes.addRoot(
+                            dispatcher.getRoot(),
+                            name,
+                            root -> commands.forEach(command -> this.registerClientCommand(root, command))
+                    ))
+            );
+            CommandTracing.endTreeRegistration(event, this.commandManager(), "client", this.registeredCommands.size());
+        }
+
+        private void registerPendingCommands() {
+            this.pendingScheduled.set(false);
+            final List<Command<C>> commands = new ArrayList<>(this.pendingCommands);
+            this.pendingCommands.removeAll(commands);
+            final @Nullable CommandBuildContext buildContext = this.buildContext;
+            final @Nullable CommandDispatcher<FabricClientCommandSource> dispatcher = ClientCommandManager.getActiveDispatcher();
+            if (commands.isEmpty() || buildContext == null || dispatcher == null) {
+                /* Disconnected in the meantime, the commands are registered with the next dispatcher */
+                return;
+            }
+            final CommandTracing.TreeRegistrationEvent event = CommandTracing.beginTreeRegistration();
+            ContextualArgumentTypeProvider.withBuildContext(
+                    this.commandManager(),
+                    buildContext,
+                    false,
                     () -> {
-                        for (final Command<C> command : this.registeredCommands) {
-                            this.registerClientCommand(dispatcher, command);
+                        for (final Command<C> command : commands) {
+                            this.registerClientCommand(dispatcher.getRoot(), command);
                         }
                     }
             );
+            CommandTracing.endTreeRegistration(event, this.commandManager(), "client", commands.size());
         }
 
         private void registerClientCommand(
-                final CommandDispatcher<FabricClientCommandSource> dispatcher,
+                final RootCommandNode<FabricClientCommandSource> rootNode,
                 final Command<C> command
         ) {
-            final RootCommandNode<FabricClientCommandSource> rootNode = dispatcher.getRoot();
             final CommandComponent<C> component = command.rootComponent();
             final CommandNode<FabricClientCommandSource> baseNode = this.commandManager()
                     .brigadierManager()
@@ -147,16 +187,62 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
     static class Server<C> extends FabricCommandRegistrationHandler<C, CommandSourceStack> {
 
         private final Set<Command<C>> registeredCommands = ConcurrentHashMap.newKeySet();
+        private final LiveCommandUpdates liveUpdates = new LiveCommandUpdates();
+        private @MonotonicNonNull CommandTreeCache<C> treeCache;
+        private volatile @Nullable MinecraftServer server;
 
         @Override
         void initialize(final FabricCommandManager<C, CommandSourceStack> manager) {
             super.initialize(manager);
+            this.treeCache = new CommandTreeCache<>(manager, manager.senderMapper(), manager.commandTreeSettings());
             CommandRegistrationCallback.EVENT.register(this::registerAllCommands);
+            ServerLifecycleEvents.SERVER_STARTING.register(server -> this.server = server);
+            ServerLifecycleEvents.SERVER_STOPPED.register(server -> this.server = null);
         }
 
         @Override
         public boolean registerCommand(final @NonNull Command<C> command) {
-            return this.registeredCommands.add(command);
+            if (!this.registeredCommands.add(command)) {
+                return false;
+            }
+            final @Nullable MinecraftServer server = this.server;
+            if (server != null) {
+                /* The dispatcher was already built, so the command is added to it directly */
+                server.execute(() -> this.registerLiveCommand(server, command));
+            }
+            return true;
+        }
+
+        @Override
+        public void unregisterRootCommand(final @NonNull CommandComponent<C> rootCommand) {
+            this.registeredCommands.removeIf(command -> command.rootComponent().name().equals(rootCommand.name()));
+            final @Nullable MinecraftServer server = this.server;
+            if (server != null) {
+                server.execute(() -> {
+                    this.liveUpdates.removeRootCommand(server.getCommands().getDispatcher().getRoot(), rootCommand);
+                    this.treeCache.invalidate();
+                    this.liveUpdates.resendCommands(server);
+                });
+            }
+        }
+
+        private void registerLiveCommand(final MinecraftServer server, final Command<C> command) {
+            final Commands.CommandSelection env = command.commandMeta().getOrDefault(
+                    ModdedCommandMetaKeys.REGISTRATION_ENVIRONMENT,
+                    Commands.CommandSelection.ALL
+            );
+            if (!this.registeredCommands.contains(command) || !LiveCommandUpdates.includes(server, env)) {
+                return;
+            }
+            final RootCommandNode<CommandSourceStack> root = server.getCommands().getDispatcher().getRoot();
+            ContextualArgumentTypeProvider.withBuildContext(
+                    this.commandManager(),
+                    CommandBuildContext.simple(server.registryAccess(), server.getWorldData().enabledFeatures()),
+                    false,
+                    () -> this.registerCommand(root, command)
+            );
+            this.treeCache.register(root, List.of(command));
+            this.liveUpdates.resendCommands(server);
         }
 
         private void registerAllCommands(
@@ -165,6 +251,8 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                 final Commands.CommandSelection side
         ) {
             this.commandManager().registrationCalled();
+            this.treeCache.clear();
+            final CommandTracing.TreeRegistrationEvent event = CommandTracing.beginTreeRegistration();
             ContextualArgumentTypeProvider.withBuildContext(
                     this.commandManager(),
                     access,
@@ -185,23 +273,59 @@ abstract class FabricCommandRegistrationHandler<C, S extends SharedSuggestionPro
                         }
                     }
             );
+            this.treeCache.register(dispatcher.getRoot(), this.registeredCommands);
+            CommandTracing.endTreeRegistration(event, this.commandManager(), "server", this.registeredCommands.size());
         }
 
         private void registerCommand(final RootCommandNode<CommandSourceStack> dispatcher, final Command<C> command) {
             final CommandComponent<C> component = command.rootComponent();
-            final CommandNode<CommandSourceStack> baseNode = this.commandManager()
+            final @Nullable CommandNode<CommandSourceStack> existing = dispatcher.getChild(component.name());
+            if (existing instanceof LazyLiteralCommandNode<CommandSourceStack> lazyNode && !lazyNode.materialized()) {
+                /* The subtree is built from the command tree when first used, so it will include this command */
+                return;
+            }
+            final CloudBrigadierCommand<C, CommandSourceStack> executor =
+                    new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager());
+            final Supplier<CommandNode<CommandSourceStack>> builder = () -> this.commandManager()
                     .brigadierManager()
                     .literalBrigadierNodeFactory()
-                    .createNode(
-                            component.name(),
-                            command,
-                            new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager())
-                    );
+                    .createNode(component.name(), command, executor);
 
+            final @Nullable LazyLiteralCommandNode<CommandSourceStack> lazyNode = existing != null ? null : LazyLiteralCommandNode.forRoot(
+                    this.commandManager(),
+                    this.commandManager().senderMapper(),
+                    this.commandManager().commandTreeSettings(),
+                    component.name(),
+                    executor,
+                    builder
+            );
+            if (lazyNode != null) {
+                dispatcher.addChild(lazyNode);
+                this.treeCache.created(lazyNode);
+                this.liveUpdates.created(lazyNode);
+                for (final String alias : component.alternativeAliases()) {
+                    this.addAlias(dispatcher, LazyLiteralCommandNode.redirect(alias, lazyNode));
+                }
+                return;
+            }
+
+            final CommandNode<CommandSourceStack> baseNode = builder.get();
             dispatcher.addChild(baseNode);
+            if (existing == null) {
+                this.treeCache.created(baseNode);
+                this.liveUpdates.created(baseNode);
+            }
 
             for (final String alias : component.alternativeAliases()) {
-                dispatcher.addChild(buildRedirect(alias, baseNode));
+                this.addAlias(dispatcher, buildRedirect(alias, baseNode));
+            }
+        }
+
+        private void addAlias(final RootCommandNode<CommandSourceStack> dispatcher, final CommandNode<CommandSourceStack> aliasNode) {
+            final boolean created = dispatcher.getChild(aliasNode.getName()) == null;
+            dispatcher.addChild(CommandTreeHooks.alias(aliasNode, this.commandManager().commandTreeSettings()));
+            if (created) {
+                this.liveUpdates.created(aliasNode);
             }
         }
     }
@@ -28,10 +28,13 @@ import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.minecraft.commands.CommandSourceStack;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CloudCapability;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.fabric.internal.LateRegistrationCatcher;
+import org.incendo.cloud.minecraft.modded.ModdedExecutionCoordinator;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeHooks;
 import org.incendo.cloud.minecraft.modded.internal.ModdedExceptionHandler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 
@@ -42,6 +45,10 @@ import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
  * {@link CommandRegistrationCallback} will be considered <em>unsafe</em>, and will only be permitted when the unsafe
  * registration manager option is enabled.</p>
  *
+ * <p>With unsafe registration enabled, commands registered or deleted through {@link #deleteRootCommand(String)} while
+ * the server is running are applied to its dispatcher directly, and the command tree is resent to players on the next
+ * tick.</p>
+ *
  * @param <C> the command sender type
  * @since 1.5.0
  */
@@ -72,7 +79,9 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
      *                                    commands that perform blocking operations, however, it might not be a good idea to
      *                                    use a synchronous execution coordinator. In most cases you will want to pick between
      *                                    {@link ExecutionCoordinator#simpleCoordinator()} and
-     *                                    {@link ExecutionCoordinator#asyncCoordinator()}
+     *                                    {@link ExecutionCoordinator#asyncCoordinator()}, or
+     *                                    {@link ModdedExecutionCoordinator#tickAligned()} and
+     *                                    {@link ModdedExecutionCoordinator#virtualThreads()}
      * @param senderMapper                Function that maps {@link CommandSourceStack} to the command sender type
      * @since 1.5.0
      */
@@ -92,8 +101,9 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
                 + "occurs before the server instance is created, commands should be registered in mod initializers.");
         }
 
+        this.registerCapability(CloudCapability.StandardCapabilities.ROOT_COMMAND_DELETION);
         ModdedParserMappings.registerServer(this);
-        ModdedExceptionHandler.registerDefaults(this, new MinecraftCaptionFormatter<>());
+        ModdedExceptionHandler.registerDefaults(this, new MinecraftCaptionFormatter<>(), this.exceptionHandlerSettings());
     }
 
     /**
@@ -112,7 +122,14 @@ public final class FabricServerCommandManager<C> extends FabricCommandManager<C,
         if (permission.isEmpty()) {
             return true;
         }
+        final long start = System.nanoTime();
         final CommandSourceStack source = this.senderMapper().reverse(sender);
-        return Permissions.check(source, permission, source.getServer().getOperatorUserPermissionLevel());
+        final boolean granted = CommandTreeHooks.testPermission(
+            source,
+            permission,
+            () -> Permissions.check(source, permission, source.getServer().getOperatorUserPermissionLevel())
+        );
+        this.commandMetrics().recordPermission(permission, System.nanoTime() - start, granted);
+        return granted;
     }
 }
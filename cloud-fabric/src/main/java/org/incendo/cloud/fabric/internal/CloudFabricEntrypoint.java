@@ -0,0 +1,56 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric.internal;
+
+import me.lucko.fabric.api.permissions.v0.Permissions;
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.commands.CommandSourceStack;
+import org.apiguardian.api.API;
+import org.incendo.cloud.minecraft.modded.internal.ModdedAdminCommand;
+import org.incendo.cloud.minecraft.modded.internal.SharedSuggestionCache;
+import org.incendo.cloud.minecraft.modded.internal.TickBudgetExecutor;
+
+/**
+ * Server-side hooks shared by all Fabric server command managers.
+ */
+@API(status = API.Status.INTERNAL)
+public final class CloudFabricEntrypoint implements ModInitializer {
+
+    @Override
+    public void onInitialize() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
+            dispatcher.register(ModdedAdminCommand.create(CloudFabricEntrypoint::hasPermission)));
+        ServerTickEvents.END_SERVER_TICK.register(server -> TickBudgetExecutor.tickAll());
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> TickBudgetExecutor.flushAll());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> SharedSuggestionCache.invalidateAll());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> SharedSuggestionCache.invalidateAll());
+    }
+
+    private static boolean hasPermission(final CommandSourceStack source, final String permission) {
+        return Permissions.check(source, permission, source.getServer().getOperatorUserPermissionLevel());
+    }
+}
@@ -0,0 +1,47 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric.mixin;
+
+import com.mojang.brigadier.tree.CommandNode;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.minecraft.modded.internal.CommandNodeAccess;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(value = CommandNode.class, remap = false)
+interface CommandNodeMixin extends CommandNodeAccess {
+
+    @Override
+    @Accessor("children")
+    @NonNull Map<String, ? extends CommandNode<?>> childNodes();
+
+    @Override
+    @Accessor("literals")
+    @NonNull Map<String, ? extends CommandNode<?>> literalNodes();
+
+    @Override
+    @Accessor("arguments")
+    @NonNull Map<String, ? extends CommandNode<?>> argumentNodes();
+}
@@ -0,0 +1,53 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric.mixin;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import org.incendo.cloud.minecraft.modded.internal.OffThreadAccessGuard;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(CommandSourceStack.class)
+abstract class CommandSourceStackMixin {
+
+    @Inject(method = "getLevel", at = @At("HEAD"))
+    private void checkLevelAccess(final CallbackInfoReturnable<ServerLevel> cir) {
+        OffThreadAccessGuard.check("CommandSourceStack#getLevel");
+    }
+
+    @Inject(method = {"getEntity", "getEntityOrException"}, at = @At("HEAD"))
+    private void checkEntityAccess(final CallbackInfoReturnable<Entity> cir) {
+        OffThreadAccessGuard.check("CommandSourceStack#getEntity");
+    }
+
+    @Inject(method = {"getPlayer", "getPlayerOrException"}, at = @At("HEAD"))
+    private void checkPlayerAccess(final CallbackInfoReturnable<ServerPlayer> cir) {
+        OffThreadAccessGuard.check("CommandSourceStack#getPlayer");
+    }
+}
@@ -36,13 +36,32 @@ import org.spongepowered.asm.mixin.Unique;
 abstract class EntitySelectorMixin {
 
     @Unique
-    private String inputString;
+    private volatile String inputString;
+
+    @Unique
+    private String inputSource;
+
+    @Unique
+    private int inputStart;
+
+    @Unique
+    private int inputEnd;
 
     public @NonNull String cloud$inputString() {
-        return this.inputString;
+        final String inputString = this.inputString;
+        if (inputString != null || this.inputSource == null) {
+            return inputString;
+        }
+        // The source is kept, so a thread that does not yet see the cached substring can compute it again
+        final String computed = this.inputSource.substring(this.inputStart, this.inputEnd);
+        this.inputString = computed;
+        return computed;
     }
 
-    public void cloud$inputString(final @NonNull String inputString) {
-        this.inputString = inputString;
+    public void cloud$inputString(final @NonNull String source, final int start, final int end) {
+        this.inputString = null;
+        this.inputSource = source;
+        this.inputStart = start;
+        this.inputEnd = end;
     }
 }
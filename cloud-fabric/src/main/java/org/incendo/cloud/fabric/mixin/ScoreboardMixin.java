@@ -0,0 +1,79 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric.mixin;
+
+import java.util.Collection;
+import java.util.List;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.minecraft.modded.internal.ScoreboardAccess;
+import org.spongepowered.asm.mixin.Implements;
+import org.spongepowered.asm.mixin.Interface;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(Scoreboard.class)
+@Implements({@Interface(iface = ScoreboardAccess.class, prefix = "cloud$", unique = true)})
+abstract class ScoreboardMixin {
+
+    // Only incremented by the thread owning the scoreboard
+    @Unique
+    private volatile int teamVersion;
+
+    @Unique
+    private @Nullable List<String> teamNamesSnapshot;
+
+    @Unique
+    private int teamNamesSnapshotVersion;
+
+    @Shadow
+    public abstract Collection<String> getTeamNames();
+
+    public synchronized @NonNull List<String> cloud$teamNamesSnapshot() {
+        // Read the version first, so a team added while copying makes the next call copy again
+        final int version = this.teamVersion;
+        if (this.teamNamesSnapshot == null || this.teamNamesSnapshotVersion != version) {
+            this.teamNamesSnapshot = List.copyOf(this.getTeamNames());
+            this.teamNamesSnapshotVersion = version;
+        }
+        return this.teamNamesSnapshot;
+    }
+
+    @Inject(method = "addPlayerTeam", at = @At("RETURN"))
+    private void invalidateTeamNamesOnAdd(final String name, final CallbackInfoReturnable<PlayerTeam> cir) {
+        this.teamVersion++;
+    }
+
+    @Inject(method = "removePlayerTeam", at = @At("RETURN"))
+    private void invalidateTeamNamesOnRemove(final PlayerTeam team, final CallbackInfo ci) {
+        this.teamVersion++;
+    }
+}
@@ -0,0 +1,249 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.fabric.testmod;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.logging.LogUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import net.fabricmc.api.DedicatedServerModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.biome.Biome;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.fabric.FabricServerCommandManager;
+import org.incendo.cloud.minecraft.modded.parser.NamedColorParser;
+import org.incendo.cloud.minecraft.modded.parser.RegistryEntryParser;
+import org.slf4j.Logger;
+
+import static org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers.columnPosParser;
+import static org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers.itemInput;
+import static org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers.multiplePlayerSelectorParser;
+import static org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers.vec3Parser;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+
+/**
+ * A load generator for dedicated servers, enabled with {@code -Dcloud.stress=true}.
+ *
+ * <p>Registers {@code cloud.stress.commands} synthetic commands using a mix of vanilla argument types, and once the
+ * server has started replays {@code cloud.stress.iterations} command executions and suggestion requests through the
+ * dispatcher, after {@code cloud.stress.warmup} unmeasured ones. Traffic is generated from {@code cloud.stress.seed},
+ * unless {@code cloud.stress.traffic} points to a recorded file with one {@code run <command>} or
+ * {@code suggest <input>} line per request. With {@code cloud.stress.exit=true} the server is stopped afterwards.</p>
+ */
+public final class FabricStressTest implements DedicatedServerModInitializer {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int SHAPES = 6;
+    private static final String[] ITEMS = {"minecraft:stone", "diamond_sword", "minecraft:oak_log", "golden_apple"};
+    private static final String[] BIOMES = {"minecraft:plains", "desert", "minecraft:cherry_grove", "minecraft:the_void"};
+    private static final String[] COLORS = {"red", "dark_aqua", "gold", "light_purple"};
+    private static final String[] SELECTORS = {"@a", "@a[distance=..10]", "@r", "Notch"};
+
+    private final int commands = Integer.getInteger("cloud.stress.commands", 5000);
+    private final int iterations = Integer.getInteger("cloud.stress.iterations", 100_000);
+    private final int warmup = Integer.getInteger("cloud.stress.warmup", 20_000);
+    private final long seed = Long.getLong("cloud.stress.seed", 42L);
+
+    @Override
+    public void onInitializeServer() {
+        if (!Boolean.getBoolean("cloud.stress")) {
+            return;
+        }
+
+        final FabricServerCommandManager<CommandSourceStack> manager =
+            FabricServerCommandManager.createNative(ExecutionCoordinator.simpleCoordinator());
+        for (int i = 0; i < this.commands; i++) {
+            manager.command(syntheticCommand(manager.commandBuilder("stress" + i), i));
+        }
+
+        ServerLifecycleEvents.SERVER_STARTED.register(this::run);
+    }
+
+    private static Command<CommandSourceStack> syntheticCommand(final Command.Builder<CommandSourceStack> builder, final int index) {
+        return switch (index % SHAPES) {
+            case 0 -> builder.literal("set").required("value", integerParser(0, 100)).build();
+            case 1 -> builder.literal("tp").required("pos", vec3Parser(false)).build();
+            case 2 -> builder.literal("give").required("item", itemInput()).optional("count", integerParser(1, 64)).build();
+            case 3 -> builder.literal("biome")
+                .required("biome", RegistryEntryParser.registryEntryParser(Registries.BIOME, Biome.class))
+                .required("column", columnPosParser())
+                .build();
+            case 4 -> builder.literal("color").required("color", NamedColorParser.namedColorParser()).build();
+            default -> builder.literal("wave").required("players", multiplePlayerSelectorParser()).build();
+        };
+    }
+
+    private void run(final MinecraftServer server) {
+        final List<Request> traffic = this.traffic();
+        final CommandSourceStack source = server.createCommandSourceStack().withSuppressedOutput();
+
+        LOGGER.info("[cloud stress] {} commands registered, replaying {} requests after {} warmup requests",
+            this.commands, this.iterations, this.warmup);
+        for (int i = 0; i < this.warmup; i++) {
+            traffic.get(i % traffic.size()).replay(server, source);
+        }
+
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long[] executions = new long[this.iterations];
+        final long[] suggestions = new long[this.iterations];
+        int executionCount = 0;
+        int suggestionCount = 0;
+
+        final long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < this.iterations; i++) {
+            final Request request = traffic.get(i % traffic.size());
+            final long requestStart = System.nanoTime();
+            request.replay(server, source);
+            final long elapsed = System.nanoTime() - requestStart;
+            if (request.suggest()) {
+                suggestions[suggestionCount++] = elapsed;
+            } else {
+                executions[executionCount++] = elapsed;
+            }
+        }
+        final long duration = System.nanoTime() - start;
+        final long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        final double seconds = duration / 1e9;
+        LOGGER.info("[cloud stress] {} requests in {} s, {} requests/s",
+            this.iterations, String.format("%.2f", seconds), String.format("%.0f", this.iterations / seconds));
+        report("execute", executions, executionCount);
+        report("suggest", suggestions, suggestionCount);
+        LOGGER.info("[cloud stress] server thread allocated {} MiB, {} KiB/request, {} MiB/s",
+            String.format("%.1f", allocated / 1048576d),
+            String.format("%.2f", allocated / 1024d / this.iterations),
+            String.format("%.1f", allocated / 1048576d / seconds));
+
+        if (Boolean.getBoolean("cloud.stress.exit")) {
+            server.halt(false);
+        }
+    }
+
+    private static void report(final String label, final long[] samples, final int count) {
+        if (count == 0) {
+            return;
+        }
+        final long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        LOGGER.info("[cloud stress] {} x{}: p50 {} us, p99 {} us, max {} us",
+            label,
+            count,
+            String.format("%.1f", sorted[(int) (count * 0.50)] / 1e3),
+            String.format("%.1f", sorted[Math.min(count - 1, (int) (count * 0.99))] / 1e3),
+            String.format("%.1f", sorted[count - 1] / 1e3));
+    }
+
+    private List<Request> traffic() {
+        final String recorded = System.getProperty("cloud.stress.traffic");
+        if (recorded != null) {
+            return recordedTraffic(Path.of(recorded));
+        }
+
+        final Random random = new Random(this.seed);
+        final List<Request> traffic = new ArrayList<>(this.iterations);
+        for (int i = 0; i < this.iterations; i++) {
+            final int index = random.nextInt(this.commands);
+            final String input = "stress" + index + " " + syntheticArguments(index % SHAPES, random);
+            if (random.nextInt(4) == 0) {
+                // Suggest somewhere after the root literal, like a player still typing
+                final int rootLength = input.indexOf(' ') + 1;
+                traffic.add(new Request(true, input.substring(0, rootLength + random.nextInt(input.length() - rootLength + 1))));
+            } else {
+                traffic.add(new Request(false, input));
+            }
+        }
+        return traffic;
+    }
+
+    private static String syntheticArguments(final int shape, final Random random) {
+        return switch (shape) {
+            case 0 -> "set " + random.nextInt(101);
+            case 1 -> "tp ~" + random.nextInt(16) + " " + (60 + random.nextInt(8)) + " " + (random.nextInt(64) - 32) + ".5";
+            case 2 -> "give " + pick(ITEMS, random) + (random.nextBoolean() ? " " + (1 + random.nextInt(64)) : "");
+            case 3 -> "biome " + pick(BIOMES, random) + " " + random.nextInt(512) + " ~";
+            case 4 -> "color " + pick(COLORS, random);
+            default -> "wave " + pick(SELECTORS, random);
+        };
+    }
+
+    private static String pick(final String[] values, final Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static List<Request> recordedTraffic(final Path file) {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException("Failed to read recorded traffic from " + file, ex);
+        }
+
+        final List<Request> traffic = new ArrayList<>(lines.size());
+        for (final String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("suggest ")) {
+                traffic.add(new Request(true, stripSlash(line.substring("suggest ".length()))));
+            } else if (line.startsWith("run ")) {
+                traffic.add(new Request(false, stripSlash(line.substring("run ".length()))));
+            } else {
+                traffic.add(new Request(false, stripSlash(line)));
+            }
+        }
+        if (traffic.isEmpty()) {
+            throw new IllegalStateException("No requests found in " + file);
+        }
+        return traffic;
+    }
+
+    private static String stripSlash(final String input) {
+        return input.startsWith("/") ? input.substring(1) : input;
+    }
+
+    private record Request(boolean suggest, String input) {
+
+        void replay(final MinecraftServer server, final CommandSourceStack source) {
+            if (this.suggest) {
+                final CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
+                dispatcher.getCompletionSuggestions(dispatcher.parse(this.input, source)).join();
+            } else {
+                server.getCommands().performPrefixedCommand(source, this.input);
+            }
+        }
+    }
+}
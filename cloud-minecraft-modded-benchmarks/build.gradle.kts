@@ -0,0 +1,23 @@
+plugins {
+    id("conventions.base")
+    id("xyz.jpenilla.quiet-architectury-loom")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    minecraft(libs.minecraft)
+    mappings(loom.officialMojangMappings())
+
+    implementation(project(":cloud-minecraft-modded-common", configuration = "namedElements"))
+}
+
+/* benchmarks need the Minecraft classes provided to the main source set by loom */
+sourceSets.named("jmh") {
+    val main = sourceSets.main.get()
+    compileClasspath += main.compileClasspath
+    runtimeClasspath += main.runtimeClasspath
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+}
@@ -0,0 +1,75 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import net.minecraft.commands.CommandSourceStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.brigadier.BrigadierManagerHolder;
+import org.incendo.cloud.brigadier.CloudBrigadierManager;
+import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.internal.CommandRegistrationHandler;
+import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
+import org.incendo.cloud.minecraft.modded.internal.ModdedPreprocessor;
+import org.incendo.cloud.suggestion.SuggestionFactory;
+
+/**
+ * A command manager set up like the platform managers, without registering anything with a platform.
+ */
+final class BenchmarkCommandManager extends CommandManager<CommandSourceStack>
+    implements BrigadierManagerHolder<CommandSourceStack, CommandSourceStack> {
+
+    private final SuggestionFactory<CommandSourceStack, ? extends TooltipSuggestion> suggestionFactory;
+    private final CloudBrigadierManager<CommandSourceStack, CommandSourceStack> brigadierManager;
+
+    BenchmarkCommandManager() {
+        super(ExecutionCoordinator.simpleCoordinator(), CommandRegistrationHandler.nullCommandRegistrationHandler());
+        this.suggestionFactory = super.suggestionFactory().mapped(TooltipSuggestion::tooltipSuggestion);
+        this.brigadierManager = new CloudBrigadierManager<>(this, SenderMapper.identity());
+        ModdedParserMappings.register(this, this.brigadierManager);
+        this.registerCommandPreProcessor(new ModdedPreprocessor<>(SenderMapper.identity()));
+    }
+
+    @Override
+    public boolean hasPermission(final @NonNull CommandSourceStack sender, final @NonNull String permission) {
+        return true;
+    }
+
+    @Override
+    public @NonNull SuggestionFactory<CommandSourceStack, ? extends TooltipSuggestion> suggestionFactory() {
+        return this.suggestionFactory;
+    }
+
+    @Override
+    public boolean hasBrigadierManager() {
+        return true;
+    }
+
+    @Override
+    public @NonNull CloudBrigadierManager<CommandSourceStack, CommandSourceStack> brigadierManager() {
+        return this.brigadierManager;
+    }
+}
@@ -0,0 +1,93 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.network.chat.Component;
+import org.incendo.cloud.caption.Caption;
+import org.incendo.cloud.caption.CaptionFormatter;
+import org.incendo.cloud.caption.CaptionVariable;
+import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
+import org.incendo.cloud.minecraft.modded.caption.MinecraftVariable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the compiled caption templates of {@link MinecraftCaptionFormatter} against the previous
+ * split-and-match implementation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaptionFormatterBenchmark {
+
+    private static final Caption CAPTION = Caption.of("benchmark.caption");
+
+    @Param({
+        "Unknown command.",
+        "Could not find any team named '<input>'!",
+        "Could not find value with key '<id>' in registry '<registry>'.",
+        "Invalid command argument: <cause>"
+    })
+    public String caption;
+
+    private List<CaptionVariable> variables;
+    private CaptionFormatter<Object, Component> compiled;
+    private CaptionFormatter<Object, Component> legacy;
+
+    @Setup
+    public void setup() {
+        this.variables = List.of(
+            CaptionVariable.of("input", "red"),
+            CaptionVariable.of("id", "minecraft:plains"),
+            CaptionVariable.of("registry", "minecraft:worldgen/biome"),
+            MinecraftVariable.of("cause", Component.literal("Expected whitespace to end one argument"))
+        );
+        this.compiled = new MinecraftCaptionFormatter<>();
+        this.legacy = new LegacyCaptionFormatter<>();
+    }
+
+    @Benchmark
+    public Component compiled() {
+        return this.compiled.formatCaption(CAPTION, this, this.caption, this.variables);
+    }
+
+    @Benchmark
+    public Component legacy() {
+        return this.legacy.formatCaption(CAPTION, this, this.caption, this.variables);
+    }
+}
@@ -0,0 +1,102 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.commands.arguments.item.ItemArgument;
+import net.minecraft.commands.arguments.item.ItemInput;
+import net.minecraft.world.flag.FeatureFlags;
+import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolving an already computed argument type from {@link ContextualArgumentTypeProvider}, with and without
+ * other threads doing the same while a build context is exposed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextualArgumentTypeBenchmark {
+
+    private BenchmarkCommandManager manager;
+    private CommandBuildContext buildContext;
+    private ContextualArgumentTypeProvider<ItemInput> provider;
+
+    @Setup
+    public void setup() {
+        this.manager = new BenchmarkCommandManager();
+        this.buildContext = CommandBuildContext.simple(VanillaEnvironment.bootstrap(), FeatureFlags.DEFAULT_FLAGS);
+        this.provider = new ContextualArgumentTypeProvider<>(ItemArgument::item);
+        ContextualArgumentTypeProvider.withBuildContext(this.manager, this.buildContext, false, this.provider::get);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object outsideBuildContext() {
+        return this.provider.get();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object outsideBuildContextContended() {
+        return this.provider.get();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void insideBuildContext(final Blackhole blackhole) {
+        ContextualArgumentTypeProvider.withBuildContext(
+            this.manager,
+            this.buildContext,
+            false,
+            () -> blackhole.consume(this.provider.get())
+        );
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void insideBuildContextContended(final Blackhole blackhole) {
+        ContextualArgumentTypeProvider.withBuildContext(
+            this.manager,
+            this.buildContext,
+            false,
+            () -> blackhole.consume(this.provider.get())
+        );
+    }
+}
@@ -0,0 +1,101 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.item.Item;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.internal.SharedSuggestionCache;
+import org.incendo.cloud.minecraft.modded.parser.RegistryEntryParser;
+import org.incendo.cloud.parser.ArgumentParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing and suggesting entries of the item registry through {@link RegistryEntryParser}.
+ *
+ * <p>Parsing and suggesting take separate states, so that each benchmark only runs with its own parameter.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryEntryParserBenchmark {
+
+    @Benchmark
+    public ArgumentParseResult<Item> parse(final ParseState state) {
+        return state.parser.parse(state.context, CommandInput.of(state.input));
+    }
+
+    @Benchmark
+    public Iterable<String> suggestCached(final SuggestState state) {
+        return state.parser.stringSuggestions(state.context, CommandInput.of(state.prefix));
+    }
+
+    @Benchmark
+    public Iterable<String> suggestCold(final SuggestState state) {
+        SharedSuggestionCache.invalidateAll();
+        return state.parser.stringSuggestions(state.context, CommandInput.of(state.prefix));
+    }
+
+    public abstract static class ParserState {
+
+        protected RegistryEntryParser<CommandSourceStack, Item> parser;
+        protected CommandContext<CommandSourceStack> context;
+
+        @Setup
+        public void setup() {
+            final BenchmarkCommandManager manager = new BenchmarkCommandManager();
+            this.parser = new RegistryEntryParser<>(Registries.ITEM);
+            this.context = VanillaEnvironment.context(manager, VanillaEnvironment.source());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ParseState extends ParserState {
+
+        @Param({"minecraft:diamond_sword", "stone", "minecraft:not_an_item"})
+        public String input;
+    }
+
+    @State(Scope.Benchmark)
+    public static class SuggestState extends ParserState {
+
+        @Param({"", "d", "minecraft:diamond_"})
+        public String prefix;
+    }
+}
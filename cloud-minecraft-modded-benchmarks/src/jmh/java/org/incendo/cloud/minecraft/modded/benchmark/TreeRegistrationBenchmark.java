@@ -0,0 +1,123 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.world.item.Item;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.brigadier.CloudBrigadierCommand;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.minecraft.modded.parser.RegistryEntryParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.incendo.cloud.brigadier.util.BrigadierUtil.buildRedirect;
+import static org.incendo.cloud.parser.standard.IntegerParser.integerParser;
+import static org.incendo.cloud.parser.standard.StringParser.greedyStringParser;
+import static org.incendo.cloud.parser.standard.StringParser.stringParser;
+
+/**
+ * Building the Brigadier tree for a whole command manager, the way the platform registration handlers do when
+ * the dispatcher is (re)populated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeRegistrationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int commands;
+
+    private BenchmarkCommandManager manager;
+    private List<Command<CommandSourceStack>> registered;
+
+    @Setup
+    public void setup() {
+        VanillaEnvironment.bootstrap();
+        this.manager = new BenchmarkCommandManager();
+        this.registered = new ArrayList<>(this.commands);
+        for (int i = 0; i < this.commands; i++) {
+            final Command<CommandSourceStack> command = this.command(i);
+            this.manager.command(command);
+            this.registered.add(command);
+        }
+    }
+
+    private Command<CommandSourceStack> command(final int index) {
+        final Command.Builder<CommandSourceStack> builder = this.manager.commandBuilder("command" + index, "c" + index);
+        return switch (index % 4) {
+            case 0 -> builder.literal("set")
+                .required("value", integerParser(0, 100))
+                .build();
+            case 1 -> builder.literal("say")
+                .required("message", greedyStringParser())
+                .build();
+            case 2 -> builder.required(
+                    CommandComponent.<CommandSourceStack, Item>builder()
+                        .name("item")
+                        .parser(RegistryEntryParser.registryEntryParser(Registries.ITEM, Item.class))
+                )
+                .optional("count", integerParser(1, 64))
+                .build();
+            default -> builder.literal("player")
+                .required("name", stringParser())
+                .literal("kick")
+                .build();
+        };
+    }
+
+    @Benchmark
+    public RootCommandNode<CommandSourceStack> registerAll() {
+        final RootCommandNode<CommandSourceStack> root = new RootCommandNode<>();
+        for (final Command<CommandSourceStack> command : this.registered) {
+            final CommandComponent<CommandSourceStack> component = command.rootComponent();
+            final CommandNode<CommandSourceStack> baseNode = this.manager.brigadierManager()
+                .literalBrigadierNodeFactory()
+                .createNode(component.name(), command, new CloudBrigadierCommand<>(this.manager, this.manager.brigadierManager()));
+            root.addChild(baseNode);
+            for (final String alias : component.alternativeAliases()) {
+                root.addChild(buildRedirect(alias, baseNode));
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,101 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.benchmark;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.commands.CommandSource;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.phys.Vec2;
+import net.minecraft.world.phys.Vec3;
+import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+
+/**
+ * Headless access to the vanilla registries and a command source backed by them, without a running server.
+ */
+final class VanillaEnvironment {
+
+    private static RegistryAccess registryAccess;
+
+    private VanillaEnvironment() {
+    }
+
+    /**
+     * Bootstraps the vanilla registries, once per JVM.
+     *
+     * @return the built-in registries
+     */
+    static synchronized RegistryAccess bootstrap() {
+        if (registryAccess == null) {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+            registryAccess = RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+        }
+        return registryAccess;
+    }
+
+    /**
+     * Creates a command source reporting the built-in registries.
+     *
+     * @return the source
+     */
+    static CommandSourceStack source() {
+        final RegistryAccess access = bootstrap();
+        return new CommandSourceStack(
+            CommandSource.NULL,
+            Vec3.ZERO,
+            Vec2.ZERO,
+            null,
+            4,
+            "benchmark",
+            Component.literal("benchmark"),
+            null,
+            null
+        ) {
+            @Override
+            public RegistryAccess registryAccess() {
+                return access;
+            }
+        };
+    }
+
+    /**
+     * Creates a command context as it would be seen by parsers during a Brigadier-originated request.
+     *
+     * @param manager manager
+     * @param source  command source
+     * @return the context
+     */
+    static CommandContext<CommandSourceStack> context(final BenchmarkCommandManager manager, final CommandSourceStack source) {
+        final CommandContext<CommandSourceStack> context = new CommandContext<>(source, manager);
+        context.store(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER, source);
+        context.store(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, source);
+        return context;
+    }
+}
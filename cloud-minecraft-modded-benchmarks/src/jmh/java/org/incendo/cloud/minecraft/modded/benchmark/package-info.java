@@ -0,0 +1,4 @@
+/**
+ * JMH benchmarks for the modded Minecraft Cloud implementations.
+ */
+package org.incendo.cloud.minecraft.modded.benchmark;
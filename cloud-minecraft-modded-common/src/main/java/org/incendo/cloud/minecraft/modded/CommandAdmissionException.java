@@ -0,0 +1,69 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Thrown when a command is rejected because its sender exceeded the limits set in {@link CommandAdmissionSettings}.
+ */
+public final class CommandAdmissionException extends RuntimeException {
+
+    private static final long serialVersionUID = -3917362515934071925L;
+
+    private final Reason reason;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param reason why the command was rejected
+     */
+    public CommandAdmissionException(final @NonNull Reason reason) {
+        super("Command rejected: " + reason, null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * Returns why the command was rejected.
+     *
+     * @return the reason
+     */
+    public @NonNull Reason reason() {
+        return this.reason;
+    }
+
+    /**
+     * Reasons for rejecting a command.
+     */
+    public enum Reason {
+        /**
+         * The sender already had the maximum number of commands in flight.
+         */
+        TOO_MANY_IN_FLIGHT,
+        /**
+         * The sender exceeded the rate limit.
+         */
+        RATE_LIMITED
+    }
+}
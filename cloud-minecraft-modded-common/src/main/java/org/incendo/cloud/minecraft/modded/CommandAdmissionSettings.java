@@ -0,0 +1,114 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Limits on how many commands a single entity, usually a player, may have in flight and how quickly it may issue them.
+ *
+ * <p>Commands beyond these limits are rejected with a {@link CommandAdmissionException} instead of being queued. Only
+ * server command sources backed by an entity are limited. Both limits are disabled by default.</p>
+ *
+ * <p>Instances are mutable and may be changed at any time; changes apply to commands issued afterwards.</p>
+ */
+public final class CommandAdmissionSettings {
+
+    private volatile int maxInFlight = Integer.MAX_VALUE;
+    private volatile double commandsPerSecond = Double.POSITIVE_INFINITY;
+    private volatile int burst = 1;
+
+    /**
+     * Returns the maximum number of commands an entity may have executing at once.
+     *
+     * @return the in-flight limit
+     */
+    public int maxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of commands an entity may have executing at once.
+     *
+     * <p>A command counts as in flight from the moment it is dispatched until its handler completes, which matters
+     * mostly for asynchronous execution coordinators.</p>
+     *
+     * @param maxInFlight the in-flight limit, at least {@code 1}
+     * @return this settings instance
+     */
+    public @NonNull CommandAdmissionSettings maxInFlight(final int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("In-flight limit must be at least 1, was " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Returns the sustained number of commands per second an entity may issue.
+     *
+     * @return the rate limit, or {@link Double#POSITIVE_INFINITY} if disabled
+     */
+    public double commandsPerSecond() {
+        return this.commandsPerSecond;
+    }
+
+    /**
+     * Returns the number of commands an entity may issue in a burst.
+     *
+     * @return the burst size
+     */
+    public int burst() {
+        return this.burst;
+    }
+
+    /**
+     * Limits the rate at which an entity may issue commands, using a token bucket.
+     *
+     * @param commandsPerSecond the sustained number of commands per second, must be positive
+     * @param burst             the number of commands that may be issued at once, at least {@code 1}
+     * @return this settings instance
+     */
+    public @NonNull CommandAdmissionSettings rateLimit(final double commandsPerSecond, final int burst) {
+        if (!(commandsPerSecond > 0)) {
+            throw new IllegalArgumentException("Rate must be positive, was " + commandsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1, was " + burst);
+        }
+        this.burst = burst;
+        this.commandsPerSecond = commandsPerSecond;
+        return this;
+    }
+
+    /**
+     * Removes the rate limit.
+     *
+     * @return this settings instance
+     */
+    public @NonNull CommandAdmissionSettings disableRateLimit() {
+        this.commandsPerSecond = Double.POSITIVE_INFINITY;
+        return this;
+    }
+}
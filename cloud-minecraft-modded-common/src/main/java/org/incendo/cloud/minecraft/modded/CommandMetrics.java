@@ -0,0 +1,204 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.minecraft.modded.internal.LatencyRecorder;
+
+/**
+ * Counters and latency histograms for the commands handled by a modded command manager since it was created or
+ * last {@link #reset() reset}.
+ *
+ * <p>Commands are keyed by the name of their root literal, argument parsing by the type of value produced and
+ * permission checks by permission node. Input that does not match any root command is grouped under
+ * {@link #UNKNOWN_COMMAND}. Recording is lock-free, so reading a snapshot never blocks command handling.</p>
+ */
+public final class CommandMetrics {
+
+    /**
+     * Key used for input that does not start with a registered root command.
+     */
+    public static final String UNKNOWN_COMMAND = "<unknown>";
+
+    private static final Set<CommandMetrics> INSTANCES = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Map<String, LatencyRecorder[]> commands = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> parsers = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> permissions = new ConcurrentHashMap<>();
+    private volatile String owner = "";
+
+    /**
+     * The phases recorded per root command.
+     */
+    public enum Phase {
+        /**
+         * Parsing the input up to the point where the command is ready to execute, including failed parses.
+         */
+        PARSE,
+        /**
+         * Computing suggestions for input starting with the command.
+         */
+        SUGGESTION,
+        /**
+         * Running the command handler.
+         */
+        EXECUTION
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public CommandMetrics() {
+    }
+
+    /**
+     * Returns the name of the command manager recording these metrics.
+     *
+     * @return the owner name, empty until {@link #attach(String)} was called
+     */
+    public @NonNull String owner() {
+        return this.owner;
+    }
+
+    /**
+     * Returns a snapshot of the phases recorded per root command.
+     *
+     * @return an immutable map from root command to the recorded phases
+     */
+    public @NonNull Map<String, Map<Phase, LatencySnapshot>> commands() {
+        final Map<String, Map<Phase, LatencySnapshot>> snapshot = new HashMap<>();
+        this.commands.forEach((command, recorders) -> {
+            final Map<Phase, LatencySnapshot> phases = new EnumMap<>(Phase.class);
+            for (final Phase phase : Phase.values()) {
+                phases.put(phase, recorders[phase.ordinal()].snapshot());
+            }
+            snapshot.put(command, Collections.unmodifiableMap(phases));
+        });
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Returns a snapshot of argument parse latencies, keyed by the class name of the parser.
+     *
+     * @return an immutable map from parser class name to latency
+     */
+    public @NonNull Map<String, LatencySnapshot> parsers() {
+        return snapshot(this.parsers);
+    }
+
+    /**
+     * Returns a snapshot of permission check latencies, keyed by permission node.
+     *
+     * @return an immutable map from permission to latency
+     */
+    public @NonNull Map<String, LatencySnapshot> permissions() {
+        return snapshot(this.permissions);
+    }
+
+    /**
+     * Discards everything recorded so far.
+     */
+    public void reset() {
+        this.commands.clear();
+        this.parsers.clear();
+        this.permissions.clear();
+    }
+
+    private static Map<String, LatencySnapshot> snapshot(final Map<String, LatencyRecorder> recorders) {
+        final Map<String, LatencySnapshot> snapshot = new HashMap<>();
+        recorders.forEach((key, recorder) -> snapshot.put(key, recorder.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Names these metrics after their command manager and makes them visible to {@link #all()}.
+     *
+     * @param owner owner name
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void attach(final @NonNull String owner) {
+        this.owner = owner;
+        INSTANCES.add(this);
+    }
+
+    /**
+     * Records a phase of a command.
+     *
+     * @param phase   phase
+     * @param command root command name
+     * @param nanos   duration in nanoseconds
+     * @param success whether the phase completed successfully
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void record(final @NonNull Phase phase, final @NonNull String command, final long nanos, final boolean success) {
+        this.commands.computeIfAbsent(command, $ -> LatencyRecorder.array(Phase.values().length))[phase.ordinal()]
+            .record(nanos, success);
+    }
+
+    /**
+     * Records parsing a single argument.
+     *
+     * @param parser  class name of the parser
+     * @param nanos   duration in nanoseconds
+     * @param success whether parsing succeeded
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void recordParser(final @NonNull String parser, final long nanos, final boolean success) {
+        this.parsers.computeIfAbsent(parser, $ -> new LatencyRecorder()).record(nanos, success);
+    }
+
+    /**
+     * Records a permission check.
+     *
+     * @param permission permission node
+     * @param nanos      duration in nanoseconds
+     * @param granted    whether the permission was granted
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public void recordPermission(final @NonNull String permission, final long nanos, final boolean granted) {
+        this.permissions.computeIfAbsent(permission, $ -> new LatencyRecorder()).record(nanos, granted);
+    }
+
+    /**
+     * Returns the metrics of all live command managers.
+     *
+     * @return the metrics
+     */
+    @API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+    public static @NonNull List<CommandMetrics> all() {
+        synchronized (INSTANCES) {
+            return List.copyOf(INSTANCES);
+        }
+    }
+}
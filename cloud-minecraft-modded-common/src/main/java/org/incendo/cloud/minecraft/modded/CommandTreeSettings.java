@@ -0,0 +1,119 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Settings for how the commands of a modded command manager are mapped to Brigadier and sent to players in the
+ * command tree packet.
+ *
+ * <p>Instances are mutable and may be changed at any time; changes apply to command trees sent afterwards.</p>
+ */
+public final class CommandTreeSettings {
+
+    private volatile boolean sendAliases = true;
+    private volatile boolean cacheFilteredTrees = true;
+    private volatile int lazyRootThreshold = 0;
+
+    /**
+     * Returns whether alias redirects of root commands are included in the command tree sent to players.
+     *
+     * @return whether aliases are sent
+     */
+    public boolean sendAliases() {
+        return this.sendAliases;
+    }
+
+    /**
+     * Sets whether alias redirects of root commands are included in the command tree sent to players.
+     *
+     * <p>Omitted aliases stay registered on the server and can still be executed, but players get no completion or
+     * highlighting for them, and arguments of aliased commands are not signed by the client. Use
+     * {@code /cloudadmin treesize} to see how much each root command contributes to the packet.</p>
+     *
+     * @param sendAliases whether to send aliases
+     * @return this settings instance
+     */
+    public @NonNull CommandTreeSettings sendAliases(final boolean sendAliases) {
+        this.sendAliases = sendAliases;
+        return this;
+    }
+
+    /**
+     * Returns whether the filtered copies of root commands sent to players are cached by permission.
+     *
+     * @return whether filtered trees are cached
+     */
+    public boolean cacheFilteredTrees() {
+        return this.cacheFilteredTrees;
+    }
+
+    /**
+     * Sets whether the filtered copies of root commands sent to players are cached by permission.
+     *
+     * <p>When enabled, a root command whose commands only require permission strings is filtered once per distinct
+     * set of granted permissions, and reused for every player with the same set, instead of being walked again each
+     * time a player's commands are resent. Root commands using predicate permissions are always filtered per player.
+     * Disable this if the permission plugin grants permissions based on context other than the player, such as
+     * their world.</p>
+     *
+     * @param cacheFilteredTrees whether to cache filtered trees
+     * @return this settings instance
+     */
+    public @NonNull CommandTreeSettings cacheFilteredTrees(final boolean cacheFilteredTrees) {
+        this.cacheFilteredTrees = cacheFilteredTrees;
+        return this;
+    }
+
+    /**
+     * Returns the number of command tree nodes from which a root command's Brigadier nodes are built lazily.
+     *
+     * @return the threshold, or {@code 0} if all root commands are built when registered
+     */
+    public int lazyRootThreshold() {
+        return this.lazyRootThreshold;
+    }
+
+    /**
+     * Sets the number of command tree nodes from which a root command's Brigadier nodes are built lazily.
+     *
+     * <p>Only the literal of such a root command is added to the dispatcher when commands are registered. Its
+     * subtree is built when the command is first parsed or suggested on the server. Until then, players are sent a
+     * single greedy string argument below the literal instead of the subtree, and their clients ask the server for
+     * all suggestions. This reduces registration time and retained heap for large command suites that are rarely
+     * used. Root commands registered by a different command manager under the same name are always built right
+     * away.</p>
+     *
+     * @param lazyRootThreshold the threshold, or {@code 0} to build all root commands when registered
+     * @return this settings instance
+     */
+    public @NonNull CommandTreeSettings lazyRootThreshold(final int lazyRootThreshold) {
+        if (lazyRootThreshold < 0) {
+            throw new IllegalArgumentException("Lazy root threshold must not be negative, was " + lazyRootThreshold);
+        }
+        this.lazyRootThreshold = lazyRootThreshold;
+        return this;
+    }
+}
@@ -0,0 +1,143 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Settings for the default exception handlers registered by the modded command managers.
+ *
+ * <p>Instances are mutable and may be changed at any time; changes apply to exceptions handled afterwards.</p>
+ */
+public final class ExceptionHandlerSettings {
+
+    private volatile int hoverStackTraceFrames = 24;
+    private volatile boolean storeStackTraces = false;
+    private volatile int errorLogLimit = 5;
+    private volatile Duration errorLogInterval = Duration.ofSeconds(60);
+
+    /**
+     * Returns the maximum number of stack frames rendered per throwable in the stack trace attached to error messages
+     * for senders with the {@code cloud.hover-stacktrace} permission.
+     *
+     * @return the frame limit
+     */
+    public int hoverStackTraceFrames() {
+        return this.hoverStackTraceFrames;
+    }
+
+    /**
+     * Sets the maximum number of stack frames rendered per throwable in the stack trace attached to error messages.
+     *
+     * <p>Frames shared with the enclosing trace are always folded, and do not count towards this limit.</p>
+     *
+     * @param hoverStackTraceFrames the frame limit, at least {@code 1}
+     * @return this settings instance
+     */
+    public @NonNull ExceptionHandlerSettings hoverStackTraceFrames(final int hoverStackTraceFrames) {
+        if (hoverStackTraceFrames < 1) {
+            throw new IllegalArgumentException("Frame limit must be at least 1, was " + hoverStackTraceFrames);
+        }
+        this.hoverStackTraceFrames = hoverStackTraceFrames;
+        return this;
+    }
+
+    /**
+     * Returns whether full stack traces are kept on the server instead of being embedded in error messages.
+     *
+     * @return whether stack traces are stored server-side
+     */
+    public boolean storeStackTraces() {
+        return this.storeStackTraces;
+    }
+
+    /**
+     * Sets whether full stack traces are kept on the server instead of being embedded in error messages.
+     *
+     * <p>When enabled, error messages sent to server command sources only carry the bounded hover trace, and clicking
+     * them runs {@code /cloudadmin stacktrace <id>} to fetch the full trace on demand. A limited number of recent traces
+     * is retained.</p>
+     *
+     * @param storeStackTraces whether to store stack traces server-side
+     * @return this settings instance
+     */
+    public @NonNull ExceptionHandlerSettings storeStackTraces(final boolean storeStackTraces) {
+        this.storeStackTraces = storeStackTraces;
+        return this;
+    }
+
+    /**
+     * Returns how many unexpected errors are logged in full per command and exception type within each
+     * {@link #errorLogInterval() interval}.
+     *
+     * @return the error log limit
+     */
+    public int errorLogLimit() {
+        return this.errorLogLimit;
+    }
+
+    /**
+     * Sets how many unexpected errors are logged in full per command and exception type within each
+     * {@link #errorLogInterval() interval}.
+     *
+     * <p>Further occurrences are counted instead, and a single summary line is logged when the interval ends. Use
+     * {@link Integer#MAX_VALUE} to log every occurrence.</p>
+     *
+     * @param errorLogLimit the error log limit, at least {@code 1}
+     * @return this settings instance
+     */
+    public @NonNull ExceptionHandlerSettings errorLogLimit(final int errorLogLimit) {
+        if (errorLogLimit < 1) {
+            throw new IllegalArgumentException("Error log limit must be at least 1, was " + errorLogLimit);
+        }
+        this.errorLogLimit = errorLogLimit;
+        return this;
+    }
+
+    /**
+     * Returns the interval over which the {@link #errorLogLimit() error log limit} applies.
+     *
+     * @return the error log interval
+     */
+    public @NonNull Duration errorLogInterval() {
+        return this.errorLogInterval;
+    }
+
+    /**
+     * Sets the interval over which the {@link #errorLogLimit() error log limit} applies.
+     *
+     * @param errorLogInterval the error log interval, must be positive
+     * @return this settings instance
+     */
+    public @NonNull ExceptionHandlerSettings errorLogInterval(final @NonNull Duration errorLogInterval) {
+        Objects.requireNonNull(errorLogInterval, "errorLogInterval");
+        if (errorLogInterval.isNegative() || errorLogInterval.isZero()) {
+            throw new IllegalArgumentException("Error log interval must be positive, was " + errorLogInterval);
+        }
+        this.errorLogInterval = errorLogInterval;
+        return this;
+    }
+}
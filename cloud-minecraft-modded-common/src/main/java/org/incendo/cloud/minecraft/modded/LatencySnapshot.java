@@ -0,0 +1,77 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A point-in-time copy of a latency histogram recorded by {@link CommandMetrics}.
+ *
+ * <p>Latencies are bucketed by powers of two, so percentiles are reported as the upper bound of the bucket they fall
+ * in and are at most twice the exact value.</p>
+ *
+ * @param count      number of recorded samples
+ * @param failures   number of samples that were recorded as failed
+ * @param totalNanos sum of all samples, in nanoseconds
+ * @param maxNanos   largest sample, in nanoseconds
+ * @param buckets    sample counts, where bucket {@code i > 0} holds samples in {@code [2^(i-1), 2^i)} nanoseconds
+ */
+public record LatencySnapshot(long count, long failures, long totalNanos, long maxNanos, long @NonNull [] buckets) {
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long meanNanos() {
+        return this.count == 0 ? 0 : this.totalNanos / this.count;
+    }
+
+    /**
+     * Returns an upper bound for the given percentile.
+     *
+     * @param percentile percentile between {@code 0} and {@code 1}
+     * @return the latency in nanoseconds, or {@code 0} if nothing was recorded
+     */
+    public long percentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1, got " + percentile);
+        }
+        final long total = Arrays.stream(this.buckets).sum();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long seen = 0;
+        for (int i = 0; i < this.buckets.length; i++) {
+            seen += this.buckets[i];
+            if (seen >= rank) {
+                final long upperBound = i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, this.maxNanos);
+            }
+        }
+        return this.maxNanos;
+    }
+}
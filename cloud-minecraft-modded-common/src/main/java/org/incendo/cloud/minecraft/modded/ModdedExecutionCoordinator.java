@@ -0,0 +1,147 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.internal.OffThreadAccessGuard;
+import org.incendo.cloud.minecraft.modded.internal.TickBudgetExecutor;
+
+/**
+ * Execution coordinators suited for modded servers.
+ *
+ * <p>A tick-aligned coordinator parses commands off the server thread and then queues their execution for the server
+ * thread, where queued handlers are run at the end of each tick until the per-tick time budget is spent. The budget is
+ * shared by all tick-aligned coordinators, so several of them together take no longer than the largest budget. Floods
+ * of commands are thereby spread over several ticks instead of causing a lag spike. At least one handler per
+ * coordinator runs per tick, and any handlers still queued when the server stops are run before shutdown.</p>
+ *
+ * <p>Parsers used with this coordinator must be safe to call off the server thread. The selector and message parsers
+ * of {@link org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers} resolve entities, and
+ * {@link org.incendo.cloud.minecraft.modded.parser.TeamParser} resolves teams, on the server thread before parsing
+ * continues. Handlers may access the world directly. This coordinator is meant for server command
+ * managers; client commands would never be run.</p>
+ *
+ * <p>A virtual-thread coordinator parses commands on the calling thread and runs each handler on its own virtual
+ * thread, for handlers performing blocking I/O. Such handlers must use {@link ServerThread} for world access; accessing
+ * {@link net.minecraft.commands.CommandSourceStack#getLevel()} from them logs a warning once per call site.</p>
+ */
+public final class ModdedExecutionCoordinator {
+
+    private ModdedExecutionCoordinator() {
+    }
+
+    /**
+     * Creates a tick-aligned coordinator with the default settings.
+     *
+     * @param <C> command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> tickAligned() {
+        return ModdedExecutionCoordinator.<C>builder().build();
+    }
+
+    /**
+     * Creates a coordinator that runs command handlers on virtual threads.
+     *
+     * @param <C> command sender type
+     * @return the coordinator
+     */
+    public static <C> @NonNull ExecutionCoordinator<C> virtualThreads() {
+        final ThreadFactory threadFactory = Thread.ofVirtual().name("cloud-command-", 0).factory();
+        return ExecutionCoordinator.<C>builder()
+            .executionSchedulingExecutor(task -> threadFactory.newThread(OffThreadAccessGuard.mark(task)).start())
+            .build();
+    }
+
+    /**
+     * Returns a builder for a tick-aligned coordinator.
+     *
+     * @param <C> command sender type
+     * @return the builder
+     */
+    public static <C> @NonNull Builder<C> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Builder for tick-aligned coordinators.
+     *
+     * @param <C> command sender type
+     */
+    public static final class Builder<C> {
+
+        private Executor parsingExecutor = ForkJoinPool.commonPool();
+        private Duration tickBudget = Duration.ofMillis(10);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the executor commands are parsed and suggestions are computed on. Defaults to the common pool.
+         *
+         * @param parsingExecutor parsing executor
+         * @return this builder
+         */
+        public @NonNull Builder<C> parsingExecutor(final @NonNull Executor parsingExecutor) {
+            this.parsingExecutor = Objects.requireNonNull(parsingExecutor, "parsingExecutor");
+            return this;
+        }
+
+        /**
+         * Sets the time per tick spent running queued command handlers. Defaults to 10 milliseconds.
+         *
+         * <p>The time is counted from when the first tick-aligned coordinator starts running handlers in a tick.</p>
+         *
+         * @param tickBudget time budget per tick, must be positive
+         * @return this builder
+         */
+        public @NonNull Builder<C> tickBudget(final @NonNull Duration tickBudget) {
+            Objects.requireNonNull(tickBudget, "tickBudget");
+            if (tickBudget.isNegative() || tickBudget.isZero()) {
+                throw new IllegalArgumentException("Tick budget must be positive, was " + tickBudget);
+            }
+            this.tickBudget = tickBudget;
+            return this;
+        }
+
+        /**
+         * Builds the coordinator.
+         *
+         * @return the coordinator
+         */
+        public @NonNull ExecutionCoordinator<C> build() {
+            return ExecutionCoordinator.<C>builder()
+                .parsingExecutor(this.parsingExecutor)
+                .suggestionsExecutor(this.parsingExecutor)
+                .executionSchedulingExecutor(new TickBudgetExecutor(this.tickBudget.toNanos()))
+                .build();
+        }
+    }
+}
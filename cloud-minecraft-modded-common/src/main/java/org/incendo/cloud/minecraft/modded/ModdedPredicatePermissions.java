@@ -23,11 +23,11 @@
 //
 package org.incendo.cloud.minecraft.modded;
 
-import net.minecraft.client.Minecraft;
 import net.minecraft.commands.SharedSuggestionProvider;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.SenderMapperHolder;
 import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.minecraft.modded.internal.ClientStateSnapshot;
 import org.incendo.cloud.minecraft.modded.permission.PermissionLevelResult;
 import org.incendo.cloud.permission.PermissionResult;
 import org.incendo.cloud.permission.PredicatePermission;
@@ -73,7 +73,7 @@ public final class ModdedPredicatePermissions {
         public static <C> @NonNull PredicatePermission<C> integratedServerRunning() {
             return PredicatePermission.of(
                 CloudKey.of("integrated-server-running"),
-                sender -> Minecraft.getInstance().hasSingleplayerServer()
+                sender -> ClientStateSnapshot.integratedServerRunning()
             );
         }
 
@@ -86,7 +86,7 @@ public final class ModdedPredicatePermissions {
         public static <C> @NonNull PredicatePermission<C> integratedServerNotRunning() {
             return PredicatePermission.of(
                 CloudKey.of("integrated-server-not-running"),
-                sender -> !Minecraft.getInstance().hasSingleplayerServer()
+                sender -> !ClientStateSnapshot.integratedServerRunning()
             );
         }
 
@@ -137,14 +137,10 @@ public final class ModdedPredicatePermissions {
 
                 @Override
                 public @NonNull PermissionResult testPermission(final @NonNull C sender) {
-                    if (!Minecraft.getInstance().hasSingleplayerServer()) {
+                    if (!ClientStateSnapshot.integratedServerRunning()) {
                         return allowOnMultiplayer.testPermission(sender);
                     }
-                    return PermissionResult.of(
-                        Minecraft.getInstance().getSingleplayerServer().getPlayerList().isAllowCommandsForAllPlayers()
-                            || Minecraft.getInstance().getSingleplayerServer().getWorldData().isAllowCommands(),
-                        this
-                    );
+                    return PermissionResult.of(ClientStateSnapshot.commandsAllowed(), this);
                 }
             };
         }
@@ -196,14 +192,10 @@ public final class ModdedPredicatePermissions {
 
                 @Override
                 public @NonNull PermissionResult testPermission(final @NonNull C sender) {
-                    if (!Minecraft.getInstance().hasSingleplayerServer()) {
+                    if (!ClientStateSnapshot.integratedServerRunning()) {
                         return allowOnMultiplayer.testPermission(sender);
                     }
-                    return PermissionResult.of(
-                        !Minecraft.getInstance().getSingleplayerServer().getPlayerList().isAllowCommandsForAllPlayers()
-                            && !Minecraft.getInstance().getSingleplayerServer().getWorldData().isAllowCommands(),
-                        this
-                    );
+                    return PermissionResult.of(!ClientStateSnapshot.commandsAllowed(), this);
                 }
             };
         }
@@ -0,0 +1,88 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import net.minecraft.server.MinecraftServer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Helpers for command handlers running off the server thread, for example with
+ * {@link ModdedExecutionCoordinator#virtualThreads()}, to access world state safely.
+ *
+ * <p>All methods run the action directly when already called on the server thread.</p>
+ */
+public final class ServerThread {
+
+    private ServerThread() {
+    }
+
+    /**
+     * Runs {@code action} on the server thread.
+     *
+     * @param server the server
+     * @param action the action
+     * @param <T>    result type
+     * @return a future completed with the result of the action
+     */
+    public static <T> @NonNull CompletableFuture<T> supply(final @NonNull MinecraftServer server, final @NonNull Supplier<T> action) {
+        if (server.isSameThread()) {
+            try {
+                return CompletableFuture.completedFuture(action.get());
+            } catch (final RuntimeException ex) {
+                return CompletableFuture.failedFuture(ex);
+            }
+        }
+        return server.submit(action);
+    }
+
+    /**
+     * Runs {@code action} on the server thread.
+     *
+     * @param server the server
+     * @param action the action
+     * @return a future completed once the action has run
+     */
+    public static @NonNull CompletableFuture<Void> run(final @NonNull MinecraftServer server, final @NonNull Runnable action) {
+        return supply(server, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code action} on the server thread and waits for its result.
+     *
+     * <p>This blocks the calling thread, which is cheap on virtual threads.</p>
+     *
+     * @param server the server
+     * @param action the action
+     * @param <T>    result type
+     * @return the result of the action
+     */
+    public static <T> T join(final @NonNull MinecraftServer server, final @NonNull Supplier<T> action) {
+        return supply(server, action).join();
+    }
+}
@@ -0,0 +1,103 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Settings for the slow command watchdog of the modded command managers.
+ *
+ * <p>Once a {@link #threshold(Duration) threshold} is set, every command handler running longer than it is logged with
+ * its sender, a summary of its arguments, a stack sample of the executing thread taken when the threshold was crossed,
+ * and how many server ticks it delayed when it ran on the server thread. The watchdog is disabled by default.</p>
+ *
+ * <p>Instances are mutable and may be changed at any time; changes apply to commands executed afterwards.</p>
+ */
+public final class SlowCommandSettings {
+
+    private volatile @Nullable Duration threshold;
+    private volatile int stackFrames = 32;
+
+    /**
+     * Returns the execution time above which commands are reported.
+     *
+     * @return the threshold, or {@code null} if the watchdog is disabled
+     */
+    public @Nullable Duration threshold() {
+        return this.threshold;
+    }
+
+    /**
+     * Sets the execution time above which commands are reported, enabling the watchdog.
+     *
+     * <p>Only the command handler is measured; parsing is not included.</p>
+     *
+     * @param threshold the threshold, must be positive
+     * @return this settings instance
+     */
+    public @NonNull SlowCommandSettings threshold(final @NonNull Duration threshold) {
+        Objects.requireNonNull(threshold, "threshold");
+        if (threshold.isNegative() || threshold.isZero()) {
+            throw new IllegalArgumentException("Threshold must be positive, was " + threshold);
+        }
+        this.threshold = threshold;
+        return this;
+    }
+
+    /**
+     * Disables the watchdog.
+     *
+     * @return this settings instance
+     */
+    public @NonNull SlowCommandSettings disable() {
+        this.threshold = null;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of stack frames logged for a slow command.
+     *
+     * @return the frame limit
+     */
+    public int stackFrames() {
+        return this.stackFrames;
+    }
+
+    /**
+     * Sets the maximum number of stack frames logged for a slow command.
+     *
+     * @param stackFrames the frame limit, {@code 0} to not sample stacks at all
+     * @return this settings instance
+     */
+    public @NonNull SlowCommandSettings stackFrames(final int stackFrames) {
+        if (stackFrames < 0) {
+            throw new IllegalArgumentException("Frame limit must not be negative, was " + stackFrames);
+        }
+        this.stackFrames = stackFrames;
+        return this;
+    }
+}
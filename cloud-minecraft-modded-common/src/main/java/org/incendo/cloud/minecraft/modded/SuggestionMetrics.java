@@ -0,0 +1,61 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+/**
+ * Counters describing the asynchronous suggestion requests handled by a modded command manager since it was created.
+ *
+ * <p>Only requests handled with an {@link SuggestionSettings#executor() executor} are counted.</p>
+ */
+public interface SuggestionMetrics {
+
+    /**
+     * Returns the number of suggestion requests received.
+     *
+     * @return the number of requests
+     */
+    long requests();
+
+    /**
+     * Returns the number of requests for which suggestions were actually computed.
+     *
+     * @return the number of computed requests
+     */
+    long computed();
+
+    /**
+     * Returns the number of requests answered with no suggestions because a newer request replaced them.
+     *
+     * @return the number of superseded requests
+     */
+    long superseded();
+
+    /**
+     * Returns the number of superseded requests that were replaced before their computation started, and were
+     * therefore never computed.
+     *
+     * @return the number of skipped requests
+     */
+    long skipped();
+}
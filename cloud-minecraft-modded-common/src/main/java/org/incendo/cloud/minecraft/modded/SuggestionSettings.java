@@ -0,0 +1,92 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Settings for how a modded command manager computes suggestions for Brigadier tab completion.
+ *
+ * <p>Instances are mutable and may be changed at any time; changes apply to requests made afterwards.</p>
+ */
+public final class SuggestionSettings {
+
+    private volatile @Nullable Executor executor;
+    private volatile Duration debounce = Duration.ZERO;
+
+    /**
+     * Returns the executor suggestions are computed on.
+     *
+     * @return the executor, or {@code null} if suggestions are computed on the requesting thread
+     */
+    public @Nullable Executor executor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the executor suggestions are computed on, or {@code null} to compute them on the requesting thread.
+     *
+     * <p>With an executor, Brigadier's suggestion future is completed asynchronously, and a new request from a player
+     * for the same command supersedes any of their requests for it still pending: those are answered with no
+     * suggestions, and skipped entirely if they have not started yet. Suggestion providers and parsers must then be
+     * safe to call off the server thread.</p>
+     *
+     * @param executor the executor
+     * @return this settings instance
+     */
+    public @NonNull SuggestionSettings executor(final @Nullable Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Returns how long a request waits before its suggestions are computed.
+     *
+     * @return the debounce delay
+     */
+    public @NonNull Duration debounce() {
+        return this.debounce;
+    }
+
+    /**
+     * Sets how long a request waits before its suggestions are computed, so that requests sent on every keystroke
+     * coalesce into one computation for the latest input. Only applies when an {@link #executor(Executor) executor}
+     * is set. Defaults to zero.
+     *
+     * @param debounce the debounce delay, must not be negative
+     * @return this settings instance
+     */
+    public @NonNull SuggestionSettings debounce(final @NonNull Duration debounce) {
+        Objects.requireNonNull(debounce, "debounce");
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("Debounce delay must not be negative, was " + debounce);
+        }
+        this.debounce = debounce;
+        return this;
+    }
+}
@@ -23,23 +23,37 @@
 //
 package org.incendo.cloud.minecraft.modded.caption;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.caption.Caption;
 import org.incendo.cloud.caption.CaptionFormatter;
 import org.incendo.cloud.caption.CaptionVariable;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Formats captions into native {@link Component}s.
+ *
+ * <p>Caption strings are compiled once and cached. Captions without any placeholders are formatted once as well, and every
+ * call returns a shallow copy of that component, so callers may modify the result. Since captions are resolved per
+ * recipient before being formatted, this also covers localised captions.</p>
+ *
+ * @param <C> command sender type
+ */
 public final class MinecraftCaptionFormatter<C> implements CaptionFormatter<C, Component> {
+    /* Caption strings are usually a small fixed set, but guard against unbounded growth from dynamic captions */
+    private static final int MAX_CACHED_TEMPLATES = 512;
+
     private final Pattern pattern;
+    private final Map<String, CompiledCaption> templates = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link MinecraftCaptionFormatter}.
@@ -64,27 +78,92 @@ public final class MinecraftCaptionFormatter<C> implements CaptionFormatter<C, C
         final @NonNull String caption,
         final @NonNull List<@NonNull CaptionVariable> variables
     ) {
-        final Map<String, CaptionVariable> byKey = variables.stream().collect(Collectors.toMap(CaptionVariable::key, Function.identity()));
-        final MutableComponent component = Component.empty();
+        return this.template(caption).format(variables);
+    }
+
+    private CompiledCaption template(final String caption) {
+        final CompiledCaption cached = this.templates.get(caption);
+        if (cached != null) {
+            return cached;
+        }
+        if (this.templates.size() >= MAX_CACHED_TEMPLATES) {
+            this.templates.clear();
+        }
+        return this.templates.computeIfAbsent(caption, this::compile);
+    }
+
+    private CompiledCaption compile(final String caption) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> placeholders = new ArrayList<>();
 
-        final String[] split = this.pattern.split(caption);
         final Matcher matcher = this.pattern.matcher(caption);
-        for (int i = 0; i < split.length; i++) {
-            component.append(split[i]);
-            if (i != split.length - 1) {
-                if (!matcher.find()) {
-                    throw new IllegalStateException();
-                }
-                final String name = matcher.group(1);
-                final CaptionVariable variable = byKey.getOrDefault(name, CaptionVariable.of(name, matcher.group(0)));
-                if (variable instanceof MinecraftVariable mc) {
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(caption.substring(last, matcher.start()));
+            names.add(matcher.group(1));
+            placeholders.add(matcher.group(0));
+            last = matcher.end();
+        }
+        literals.add(caption.substring(last));
+
+        return new CompiledCaption(
+            literals.toArray(String[]::new),
+            names.toArray(String[]::new),
+            placeholders.toArray(String[]::new),
+            names.isEmpty() ? Component.literal(caption) : null
+        );
+    }
+
+    /**
+     * A caption split into literal segments and placeholder slots.
+     *
+     * <p>{@code literals} always holds one more element than the slot arrays; slot {@code i} is rendered between
+     * literal {@code i} and literal {@code i + 1}.</p>
+     *
+     * @param literals     literal segments
+     * @param names        variable names for each slot
+     * @param placeholders raw placeholder text for each slot, used when no variable is supplied
+     * @param constant     the formatted component when the caption has no placeholders, never handed out itself
+     */
+    private record CompiledCaption(String[] literals, String[] names, String[] placeholders, @Nullable Component constant) {
+
+        Component format(final List<CaptionVariable> variables) {
+            if (this.constant != null) {
+                // a shallow copy, so callers modifying the result do not change the message for everyone else
+                return this.constant.copy();
+            }
+            final MutableComponent component = Component.empty();
+            for (int i = 0; i < this.names.length; i++) {
+                appendLiteral(component, this.literals[i]);
+                final CaptionVariable variable = find(variables, this.names[i]);
+                if (variable == null) {
+                    component.append(this.placeholders[i]);
+                } else if (variable instanceof MinecraftVariable mc) {
                     component.append(mc.componentValue());
                 } else {
                     component.append(variable.value());
                 }
             }
+            appendLiteral(component, this.literals[this.names.length]);
+            return component;
         }
 
-        return component;
+        private static void appendLiteral(final MutableComponent component, final String literal) {
+            if (!literal.isEmpty()) {
+                component.append(literal);
+            }
+        }
+
+        private static @Nullable CaptionVariable find(final List<CaptionVariable> variables, final String name) {
+            // Captions have a handful of variables at most, so a linear scan beats building a map
+            for (int i = 0; i < variables.size(); i++) {
+                final CaptionVariable variable = variables.get(i);
+                if (variable.key().equals(name)) {
+                    return variable;
+                }
+            }
+            return null;
+        }
     }
 }
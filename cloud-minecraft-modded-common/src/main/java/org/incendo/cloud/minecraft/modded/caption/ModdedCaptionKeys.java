@@ -48,6 +48,12 @@ public final class ModdedCaptionKeys {
     public static final Caption ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN = of(
         "argument.parse.failure.team.unknown"
     );
+    /**
+     * Variables: none
+     */
+    public static final Caption EXCEPTION_TOO_MANY_COMMANDS = of(
+        "exception.too_many_commands"
+    );
 
     private ModdedCaptionKeys() {
     }
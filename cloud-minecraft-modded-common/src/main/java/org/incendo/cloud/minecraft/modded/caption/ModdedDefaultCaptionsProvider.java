@@ -45,6 +45,11 @@ public final class ModdedDefaultCaptionsProvider<C> extends DelegatingCaptionPro
      */
     public static final String ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN = "Could not find any team named '<input>'!";
 
+    /**
+     * Default caption for {@link ModdedCaptionKeys#EXCEPTION_TOO_MANY_COMMANDS}
+     */
+    public static final String EXCEPTION_TOO_MANY_COMMANDS = "You are sending commands too quickly, please wait a moment.";
+
     private static final CaptionProvider<?> PROVIDER = CaptionProvider.constantProvider()
         .putCaption(
             ModdedCaptionKeys.ARGUMENT_PARSE_FAILURE_REGISTRY_ENTRY_UNKNOWN_ENTRY,
@@ -52,6 +57,9 @@ public final class ModdedDefaultCaptionsProvider<C> extends DelegatingCaptionPro
         ).putCaption(
             ModdedCaptionKeys.ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN,
             ARGUMENT_PARSE_FAILURE_TEAM_UNKNOWN
+        ).putCaption(
+            ModdedCaptionKeys.EXCEPTION_TOO_MANY_COMMANDS,
+            EXCEPTION_TOO_MANY_COMMANDS
         )
         .build();
 
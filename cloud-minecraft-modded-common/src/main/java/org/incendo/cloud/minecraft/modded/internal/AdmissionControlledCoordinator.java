@@ -0,0 +1,161 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.CommandAdmissionException;
+import org.incendo.cloud.minecraft.modded.CommandAdmissionSettings;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * Wraps the execution coordinator of a modded command manager to apply {@link CommandAdmissionSettings}.
+ *
+ * @param <C> command sender type
+ * @param <S> native sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class AdmissionControlledCoordinator<C, S extends SharedSuggestionProvider> implements ExecutionCoordinator<C> {
+
+    private final ExecutionCoordinator<C> delegate;
+    private final SenderMapper<S, C> senderMapper;
+    private final CommandAdmissionSettings settings;
+    private final Cache<UUID, Budget> budgets = CacheBuilder.newBuilder()
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .build();
+
+    /**
+     * Creates a new coordinator.
+     *
+     * @param delegate     coordinator to delegate to
+     * @param senderMapper sender mapper of the manager
+     * @param settings     admission settings
+     */
+    public AdmissionControlledCoordinator(
+        final @NonNull ExecutionCoordinator<C> delegate,
+        final @NonNull SenderMapper<S, C> senderMapper,
+        final @NonNull CommandAdmissionSettings settings
+    ) {
+        this.delegate = delegate;
+        this.senderMapper = senderMapper;
+        this.settings = settings;
+    }
+
+    @Override
+    public @NonNull CompletableFuture<CommandResult<C>> coordinateExecution(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        final SharedSuggestionProvider source = ModdedPreprocessor.nativeSource(commandContext, this.senderMapper);
+        final @Nullable Budget budget = this.budget(source);
+        if (budget == null) {
+            return this.delegate.coordinateExecution(commandTree, commandContext, commandInput);
+        }
+
+        final CommandAdmissionException.@Nullable Reason rejection = budget.tryAcquire(this.settings);
+        if (rejection != null) {
+            return CompletableFuture.failedFuture(new CommandAdmissionException(rejection));
+        }
+        final CompletableFuture<CommandResult<C>> future;
+        try {
+            future = this.delegate.coordinateExecution(commandTree, commandContext, commandInput);
+        } catch (final RuntimeException ex) {
+            budget.release();
+            throw ex;
+        }
+        return future.whenComplete(($, $$) -> budget.release());
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Suggestions<C, Suggestion>> coordinateSuggestions(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> context,
+        final @NonNull CommandInput commandInput
+    ) {
+        return this.delegate.coordinateSuggestions(commandTree, context, commandInput);
+    }
+
+    private @Nullable Budget budget(final SharedSuggestionProvider source) {
+        if (this.settings.maxInFlight() == Integer.MAX_VALUE && this.settings.commandsPerSecond() == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        final @Nullable UUID entityId = SourceKeys.entityId(source);
+        if (entityId == null) {
+            return null;
+        }
+        try {
+            return this.budgets.get(entityId, Budget::new);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class Budget {
+
+        private int inFlight;
+        private double tokens = Double.NaN;
+        private long lastRefill = System.nanoTime();
+
+        synchronized CommandAdmissionException.@Nullable Reason tryAcquire(final CommandAdmissionSettings settings) {
+            if (this.inFlight >= settings.maxInFlight()) {
+                return CommandAdmissionException.Reason.TOO_MANY_IN_FLIGHT;
+            }
+            final double rate = settings.commandsPerSecond();
+            if (rate != Double.POSITIVE_INFINITY) {
+                final long now = System.nanoTime();
+                final double refilled = Double.isNaN(this.tokens)
+                    ? settings.burst()
+                    : this.tokens + (now - this.lastRefill) * rate / TimeUnit.SECONDS.toNanos(1);
+                this.tokens = Math.min(settings.burst(), refilled);
+                this.lastRefill = now;
+                if (this.tokens < 1) {
+                    return CommandAdmissionException.Reason.RATE_LIMITED;
+                }
+                this.tokens--;
+            }
+            this.inFlight++;
+            return null;
+        }
+
+        synchronized void release() {
+            this.inFlight--;
+        }
+    }
+}
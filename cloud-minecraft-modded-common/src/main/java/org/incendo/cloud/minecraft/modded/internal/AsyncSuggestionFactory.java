@@ -0,0 +1,179 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.minecraft.modded.SuggestionMetrics;
+import org.incendo.cloud.minecraft.modded.SuggestionSettings;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.SuggestionFactory;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * Computes suggestions on the executor configured in {@link SuggestionSettings}, coalescing requests from the same
+ * player for the same command so that only the latest is computed.
+ *
+ * @param <C> command sender type
+ * @param <T> suggestion type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class AsyncSuggestionFactory<C, T extends Suggestion> implements SuggestionFactory<C, T>, SuggestionMetrics {
+
+    private final SuggestionFactory<C, T> delegate;
+    private final Function<CommandContext<C>, @Nullable UUID> playerKey;
+    private final SuggestionSettings settings;
+    private final Map<Key, Request<C, T>> pending = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder superseded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    private AsyncSuggestionFactory(
+        final SuggestionFactory<C, T> delegate,
+        final Function<CommandContext<C>, @Nullable UUID> playerKey,
+        final SuggestionSettings settings
+    ) {
+        this.delegate = delegate;
+        this.playerKey = playerKey;
+        this.settings = settings;
+    }
+
+    /**
+     * Wraps a suggestion factory.
+     *
+     * @param delegate  suggestion factory to wrap
+     * @param playerKey identifies the player behind a command context, if any
+     * @param settings  suggestion settings
+     * @param <C>       command sender type
+     * @param <T>       suggestion type
+     * @return the wrapped factory
+     */
+    public static <C, T extends Suggestion> @NonNull AsyncSuggestionFactory<C, T> wrap(
+        final @NonNull SuggestionFactory<C, T> delegate,
+        final @NonNull Function<CommandContext<C>, @Nullable UUID> playerKey,
+        final @NonNull SuggestionSettings settings
+    ) {
+        return new AsyncSuggestionFactory<>(delegate, playerKey, settings);
+    }
+
+    @Override
+    public @NonNull CompletableFuture<@NonNull Suggestions<C, T>> suggest(
+        final @NonNull CommandContext<C> context,
+        final @NonNull String input
+    ) {
+        final @Nullable Executor executor = this.settings.executor();
+        if (executor == null) {
+            return this.delegate.suggest(context, input);
+        }
+
+        this.requests.increment();
+        final Request<C, T> request = new Request<>(context, input);
+        final @Nullable UUID player = this.playerKey.apply(context);
+        if (player != null) {
+            final Key key = new Key(player, CommandNames.rootCommand(input));
+            final @Nullable Request<C, T> previous = this.pending.put(key, request);
+            if (previous != null && previous.supersede()) {
+                this.superseded.increment();
+            }
+            request.future().whenComplete(($, $$) -> this.pending.remove(key, request));
+        }
+        final long debounce = this.settings.debounce().toNanos();
+        final Executor target = debounce == 0 ? executor : CompletableFuture.delayedExecutor(debounce, TimeUnit.NANOSECONDS, executor);
+        target.execute(() -> {
+            if (request.future().isDone()) {
+                this.skipped.increment();
+                return;
+            }
+            this.computed.increment();
+            try {
+                this.delegate.suggest(context, input).whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        request.future().completeExceptionally(throwable);
+                    } else {
+                        request.future().complete(result);
+                    }
+                });
+            } catch (final RuntimeException ex) {
+                request.future().completeExceptionally(ex);
+            }
+        });
+        return request.future();
+    }
+
+    @Override
+    public @NonNull CompletableFuture<@NonNull Suggestions<C, T>> suggest(final @NonNull C sender, final @NonNull String input) {
+        return this.delegate.suggest(sender, input);
+    }
+
+    @Override
+    public long requests() {
+        return this.requests.sum();
+    }
+
+    @Override
+    public long computed() {
+        return this.computed.sum();
+    }
+
+    @Override
+    public long superseded() {
+        return this.superseded.sum();
+    }
+
+    @Override
+    public long skipped() {
+        return this.skipped.sum();
+    }
+
+    private record Key(UUID player, String command) {
+    }
+
+    private record Request<C, T extends Suggestion>(
+        CommandContext<C> context,
+        String input,
+        CompletableFuture<Suggestions<C, T>> future
+    ) {
+
+        Request(final CommandContext<C> context, final String input) {
+            this(context, input, new CompletableFuture<>());
+        }
+
+        boolean supersede() {
+            return this.future.complete(Suggestions.create(this.context, List.of(), CommandInput.of(this.input)));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.server.IntegratedServer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A snapshot of the client state consulted by the client permission predicates.
+ *
+ * <p>Permission predicates are tested for every client command node on every suggestion request, so rather than walking
+ * from {@link Minecraft#getInstance()} to the integrated server's world data on each test, platforms sample the state once
+ * per client tick (and on world join/leave) through {@link #update(Minecraft)}.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ClientStateSnapshot {
+
+    private static volatile @Nullable State state;
+
+    private ClientStateSnapshot() {
+    }
+
+    /**
+     * Sample the current client state.
+     *
+     * <p>Must be called on the client thread.</p>
+     *
+     * @param client the client instance
+     */
+    public static void update(final @NonNull Minecraft client) {
+        state = sample(client);
+    }
+
+    /**
+     * Discard the sampled state, causing the next lookup to read the live client state.
+     */
+    public static void invalidate() {
+        state = null;
+    }
+
+    /**
+     * Returns whether the integrated server is running.
+     *
+     * @return whether the integrated server is running
+     */
+    public static boolean integratedServerRunning() {
+        return current().integratedServerRunning();
+    }
+
+    /**
+     * Returns whether commands are enabled on the running integrated server.
+     *
+     * <p>The result is only meaningful when {@link #integratedServerRunning()} is {@code true}.</p>
+     *
+     * @return whether commands are enabled
+     */
+    public static boolean commandsAllowed() {
+        return current().commandsAllowed();
+    }
+
+    private static State current() {
+        final State sampled = state;
+        if (sampled != null) {
+            return sampled;
+        }
+        // Nothing sampled yet (i.e. before the first tick), fall back to reading the live state
+        return sample(Minecraft.getInstance());
+    }
+
+    private static State sample(final Minecraft client) {
+        if (!client.hasSingleplayerServer()) {
+            return State.NO_INTEGRATED_SERVER;
+        }
+        final IntegratedServer server = client.getSingleplayerServer();
+        return new State(
+            true,
+            server.getPlayerList().isAllowCommandsForAllPlayers() || server.getWorldData().isAllowCommands()
+        );
+    }
+
+    private record State(boolean integratedServerRunning, boolean commandsAllowed) {
+        private static final State NO_INTEGRATED_SERVER = new State(false, false);
+    }
+}
@@ -0,0 +1,136 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import net.minecraft.core.RegistryAccess;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+
+/**
+ * Keeps the Brigadier nodes built for each root command of a client command manager, so they can be added to the
+ * next dispatcher without being built again.
+ *
+ * <p>Nodes that requested an argument type from a {@link ContextualArgumentTypeProvider} while being built are
+ * dropped whenever the registry access changes; all other nodes are kept until their root command changes.</p>
+ *
+ * @param <S> native sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class CommandRootNodeCache<S> {
+
+    private final Map<String, CachedRoot<S>> roots = new HashMap<>();
+    private @Nullable RegistryAccess registryAccess;
+
+    /**
+     * Groups commands by the name of their root command, keeping the registration order.
+     *
+     * @param <C>      command sender type
+     * @param commands commands
+     * @return commands by root command name
+     */
+    public static <C> @NonNull Map<String, List<Command<C>>> byRoot(final @NonNull Collection<Command<C>> commands) {
+        final Map<String, List<Command<C>>> byRoot = new LinkedHashMap<>();
+        for (final Command<C> command : commands) {
+            byRoot.computeIfAbsent(command.rootComponent().name(), $ -> new ArrayList<>()).add(command);
+        }
+        return byRoot;
+    }
+
+    /**
+     * Sets the registry access that nodes are built for from now on, dropping nodes that depend on the previous one.
+     *
+     * @param registryAccess registry access, or {@code null} if unknown
+     * @return whether the registry access changed, in which case contextual argument types must be reset
+     */
+    public synchronized boolean registryAccess(final @Nullable RegistryAccess registryAccess) {
+        if (registryAccess != null && registryAccess == this.registryAccess) {
+            return false;
+        }
+        this.registryAccess = registryAccess;
+        this.roots.values().removeIf(CachedRoot::contextual);
+        return true;
+    }
+
+    /**
+     * Drops the nodes of a root command, after commands were added to it.
+     *
+     * @param name root command name
+     */
+    public synchronized void invalidate(final @NonNull String name) {
+        this.roots.remove(name);
+    }
+
+    /**
+     * Adds the nodes of a root command and its aliases to a dispatcher, building them if they are not cached.
+     *
+     * <p>If another node already uses one of the names, the nodes are built directly into the dispatcher to be
+     * merged with it, and are not cached, as merging would otherwise modify the cached nodes.</p>
+     *
+     * @param dispatcher dispatcher root
+     * @param name       root command name
+     * @param builder    registers all commands of the root command to the given root node
+     */
+    public synchronized void addRoot(
+        final @NonNull RootCommandNode<S> dispatcher,
+        final @NonNull String name,
+        final @NonNull Consumer<RootCommandNode<S>> builder
+    ) {
+        @Nullable CachedRoot<S> cached = this.roots.get(name);
+        if (cached == null) {
+            final RootCommandNode<S> root = new RootCommandNode<>();
+            final int lookups = ContextualArgumentTypeProvider.lookups();
+            builder.accept(root);
+            final List<CommandNode<S>> nodes = List.copyOf(root.getChildren());
+            /* Lazy nodes are bound to the current build context */
+            final boolean contextual = ContextualArgumentTypeProvider.lookups() != lookups
+                || nodes.stream().anyMatch(LazyLiteralCommandNode.class::isInstance);
+            cached = new CachedRoot<>(nodes, contextual);
+        }
+        for (final CommandNode<S> node : cached.nodes()) {
+            if (dispatcher.getChild(node.getName()) != null) {
+                this.roots.remove(name);
+                builder.accept(dispatcher);
+                return;
+            }
+        }
+        this.roots.put(name, cached);
+        for (final CommandNode<S> node : cached.nodes()) {
+            dispatcher.addChild(node);
+        }
+    }
+
+    private record CachedRoot<S>(List<CommandNode<S>> nodes, boolean contextual) {
+    }
+}
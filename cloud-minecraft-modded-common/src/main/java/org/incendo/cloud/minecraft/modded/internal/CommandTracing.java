@@ -0,0 +1,345 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
+
+/**
+ * Emits JDK Flight Recorder events for cloud command handling, so it can be correlated with tick spikes in the same
+ * recording.
+ *
+ * <p>Events only carry the root command, never the full input, which may contain private messages or credentials.
+ * Events are only populated and committed while a recording has them enabled. The {@code begin} methods return an
+ * event that has to be passed to the matching {@code end} method once the traced work completed, on any thread.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class CommandTracing {
+
+    private static final String CATEGORY = "Cloud";
+
+    private CommandTracing() {
+    }
+
+    /**
+     * Starts tracing a command execution, from parsing to the end of the handler.
+     *
+     * @return the event to end
+     */
+    public static @NonNull CommandExecuteEvent beginExecute() {
+        final CommandExecuteEvent event = new CommandExecuteEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes tracing a command execution.
+     *
+     * @param event   event returned by {@link #beginExecute()}
+     * @param command root command name
+     * @param source  native source of the sender, if known
+     * @param failure exception the execution failed with, or {@code null}
+     */
+    public static void endExecute(
+        final @NonNull CommandExecuteEvent event,
+        final @NonNull String command,
+        final @Nullable SharedSuggestionProvider source,
+        final @Nullable Throwable failure
+    ) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.senderKind = senderKind(source);
+            event.success = failure == null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts tracing a suggestion request.
+     *
+     * @return the event to end
+     */
+    public static @NonNull CommandSuggestionEvent beginSuggestions() {
+        final CommandSuggestionEvent event = new CommandSuggestionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes tracing a suggestion request.
+     *
+     * @param event       event returned by {@link #beginSuggestions()}
+     * @param command     root command name
+     * @param source      native source of the sender, if known
+     * @param suggestions number of suggestions returned
+     */
+    public static void endSuggestions(
+        final @NonNull CommandSuggestionEvent event,
+        final @NonNull String command,
+        final @Nullable SharedSuggestionProvider source,
+        final int suggestions
+    ) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.senderKind = senderKind(source);
+            event.suggestions = suggestions;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records that an argument was parsed. Arguments are timed by cloud itself, so the event carries the parse time
+     * as a field and is committed once the surrounding command finished.
+     *
+     * @param command   root command name
+     * @param argument  argument name
+     * @param parser    parser class
+     * @param valueType name of the parsed value type
+     * @param nanos     parse time in nanoseconds
+     * @param success   whether parsing succeeded
+     */
+    public static void argumentParsed(
+        final @NonNull String command,
+        final @NonNull String argument,
+        final @NonNull Class<?> parser,
+        final @NonNull String valueType,
+        final long nanos,
+        final boolean success
+    ) {
+        final ArgumentParseEvent event = new ArgumentParseEvent();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.argument = argument;
+            event.parser = parser;
+            event.valueType = valueType;
+            event.parseTime = nanos;
+            event.success = success;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records an exception passed to the exception handlers of a command manager.
+     *
+     * @param input     command input
+     * @param source    native source of the sender, if known
+     * @param exception the exception
+     */
+    public static void exceptionHandled(
+        final @NonNull String input,
+        final @Nullable SharedSuggestionProvider source,
+        final @NonNull Throwable exception
+    ) {
+        final CommandExceptionEvent event = new CommandExceptionEvent();
+        if (event.shouldCommit()) {
+            event.command = CommandNames.rootCommand(input);
+            event.senderKind = senderKind(source);
+            event.exceptionType = exception.getClass();
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts tracing the registration of a command manager's commands into a Brigadier dispatcher.
+     *
+     * @return the event to end
+     */
+    public static @NonNull TreeRegistrationEvent beginTreeRegistration() {
+        final TreeRegistrationEvent event = new TreeRegistrationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Finishes tracing a tree registration.
+     *
+     * @param event    event returned by {@link #beginTreeRegistration()}
+     * @param manager  command manager whose commands were registered
+     * @param side     {@code "server"} or {@code "client"}
+     * @param commands number of commands considered for registration
+     */
+    public static void endTreeRegistration(
+        final @NonNull TreeRegistrationEvent event,
+        final @NonNull Object manager,
+        final @NonNull String side,
+        final int commands
+    ) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.manager = manager.getClass();
+            event.side = side;
+            event.commands = commands;
+            event.commit();
+        }
+    }
+
+    private static String senderKind(final @Nullable SharedSuggestionProvider source) {
+        if (source == null) {
+            return "unknown";
+        }
+        if (VanillaArgumentParsers.isClientSource(source)) {
+            return "client";
+        }
+        if (source instanceof CommandSourceStack stack) {
+            final @Nullable Entity entity = stack.getEntity();
+            if (entity instanceof Player) {
+                return "player";
+            }
+            return entity == null ? "server" : "entity";
+        }
+        return source.getClass().getSimpleName();
+    }
+
+    /**
+     * A command execution, from the start of parsing to the end of the handler.
+     */
+    @Name("org.incendo.cloud.CommandExecute")
+    @Label("Cloud Command Execute")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class CommandExecuteEvent extends Event {
+
+        @Label("Command")
+        private String command;
+
+        @Label("Sender Kind")
+        private String senderKind;
+
+        @Label("Success")
+        private boolean success;
+
+        private CommandExecuteEvent() {
+        }
+    }
+
+    /**
+     * A suggestion request for a cloud command.
+     */
+    @Name("org.incendo.cloud.SuggestionRequest")
+    @Label("Cloud Suggestion Request")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static final class CommandSuggestionEvent extends Event {
+
+        @Label("Command")
+        private String command;
+
+        @Label("Sender Kind")
+        private String senderKind;
+
+        @Label("Suggestions")
+        private int suggestions;
+
+        private CommandSuggestionEvent() {
+        }
+    }
+
+    /**
+     * A single parsed argument of a command.
+     */
+    @Name("org.incendo.cloud.ArgumentParse")
+    @Label("Cloud Argument Parse")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ArgumentParseEvent extends Event {
+
+        @Label("Command")
+        private String command;
+
+        @Label("Argument")
+        private String argument;
+
+        @Label("Parser")
+        private Class<?> parser;
+
+        @Label("Value Type")
+        private String valueType;
+
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        private long parseTime;
+
+        @Label("Success")
+        private boolean success;
+    }
+
+    /**
+     * An exception passed to the exception handlers of a command manager.
+     */
+    @Name("org.incendo.cloud.CommandException")
+    @Label("Cloud Command Exception")
+    @Category(CATEGORY)
+    @Description("An exception handled by the exception controller of a cloud command manager")
+    static final class CommandExceptionEvent extends Event {
+
+        @Label("Command")
+        private String command;
+
+        @Label("Sender Kind")
+        private String senderKind;
+
+        @Label("Exception Type")
+        private Class<?> exceptionType;
+
+        @Label("Message")
+        private String message;
+    }
+
+    /**
+     * Registration of a command manager's commands into a Brigadier dispatcher.
+     */
+    @Name("org.incendo.cloud.TreeRegistration")
+    @Label("Cloud Tree Registration")
+    @Category(CATEGORY)
+    public static final class TreeRegistrationEvent extends Event {
+
+        @Label("Manager")
+        private Class<?> manager;
+
+        @Label("Side")
+        private String side;
+
+        @Label("Commands")
+        private int commands;
+
+        private TreeRegistrationEvent() {
+        }
+    }
+}
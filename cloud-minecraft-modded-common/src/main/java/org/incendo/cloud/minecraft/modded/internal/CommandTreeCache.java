@@ -0,0 +1,268 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.collect.MapMaker;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.minecraft.modded.CommandTreeSettings;
+import org.incendo.cloud.permission.AndPermission;
+import org.incendo.cloud.permission.OrPermission;
+import org.incendo.cloud.permission.Permission;
+import org.incendo.cloud.permission.PredicatePermission;
+
+/**
+ * Caches the player-specific copies of a server command manager's root commands that are put into the command tree
+ * packet, keyed by which of the manager's permissions the player has.
+ *
+ * <p>Only root commands whose commands are all guarded by plain permission strings are cached, as their visibility
+ * can not depend on anything else. Players with the same permission fingerprint share the same filtered nodes.</p>
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class CommandTreeCache<C> {
+
+    private static final int MAX_FINGERPRINTS = 64;
+
+    private final CommandManager<C> manager;
+    private final SenderMapper<CommandSourceStack, C> senderMapper;
+    private final CommandTreeSettings settings;
+    private final List<String> permissions = new ArrayList<>();
+    private final Set<CommandNode<CommandSourceStack>> createdRoots = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    private final Map<BitSet, Map<CommandNode<CommandSourceStack>, Optional<CommandNode<SharedSuggestionProvider>>>> filtered =
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                final Map.Entry<BitSet, Map<CommandNode<CommandSourceStack>, Optional<CommandNode<SharedSuggestionProvider>>>> eldest
+            ) {
+                return this.size() > MAX_FINGERPRINTS;
+            }
+        };
+
+    /**
+     * Creates a new cache.
+     *
+     * @param manager      command manager
+     * @param senderMapper sender mapper of the manager
+     * @param settings     command tree settings of the manager
+     */
+    public CommandTreeCache(
+        final @NonNull CommandManager<C> manager,
+        final @NonNull SenderMapper<CommandSourceStack, C> senderMapper,
+        final @NonNull CommandTreeSettings settings
+    ) {
+        this.manager = manager;
+        this.senderMapper = senderMapper;
+        this.settings = settings;
+    }
+
+    /**
+     * Returns whether cached nodes may be used.
+     *
+     * @return whether the cache is enabled
+     */
+    public boolean enabled() {
+        return this.settings.cacheFilteredTrees();
+    }
+
+    /**
+     * Forgets all registered root commands, before the manager's commands are registered to a new dispatcher.
+     */
+    public synchronized void clear() {
+        this.permissions.clear();
+        this.filtered.clear();
+        this.createdRoots.clear();
+    }
+
+    /**
+     * Records that a root command node was added to the dispatcher by the owning manager, rather than merged into a
+     * node of the same name registered elsewhere.
+     *
+     * <p>Only such nodes are cached, as merged nodes keep the requirement of the original node, which the permission
+     * fingerprint does not cover.</p>
+     *
+     * @param node root command node
+     */
+    public synchronized void created(final @NonNull CommandNode<CommandSourceStack> node) {
+        this.createdRoots.add(node);
+    }
+
+    /**
+     * Forgets all filtered nodes, after root commands were removed from the dispatcher.
+     */
+    public synchronized void invalidate() {
+        this.filtered.clear();
+    }
+
+    /**
+     * Registers the dispatcher nodes of the root commands of the given commands, for those whose visibility only
+     * depends on permission strings.
+     *
+     * <p>This may be called again for root commands that have changed since they were registered.</p>
+     *
+     * @param root     dispatcher root the commands were registered to
+     * @param commands registered commands
+     */
+    public synchronized void register(
+        final @NonNull RootCommandNode<CommandSourceStack> root,
+        final @NonNull Collection<Command<C>> commands
+    ) {
+        final Set<String> names = new HashSet<>();
+        for (final Command<C> command : commands) {
+            final String name = command.rootComponent().name();
+            if (!names.add(name)) {
+                continue;
+            }
+            final @Nullable CommandNode<CommandSourceStack> node = root.getChild(name);
+            final org.incendo.cloud.internal.@Nullable CommandNode<C> cloudNode = this.manager.commandTree().getNamedNode(name);
+            if (node == null || cloudNode == null || !this.createdRoots.contains(node)) {
+                continue;
+            }
+            final Set<String> rootPermissions = new LinkedHashSet<>();
+            if (!collectPermissions(rootPermissions, List.of(cloudNode))) {
+                CommandTreeHooks.uncacheable(node);
+                continue;
+            }
+            for (final String permission : rootPermissions) {
+                if (!this.permissions.contains(permission)) {
+                    this.permissions.add(permission);
+                }
+            }
+            CommandTreeHooks.cacheable(node, this);
+        }
+        this.filtered.clear();
+    }
+
+    /**
+     * Computes which of the registered permissions a source has.
+     *
+     * @param source source
+     * @return the permission fingerprint
+     */
+    synchronized BitSet fingerprint(final CommandSourceStack source) {
+        final C sender = this.senderMapper.map(source);
+        final BitSet fingerprint = new BitSet(this.permissions.size());
+        for (int i = 0; i < this.permissions.size(); i++) {
+            if (this.manager.hasPermission(sender, this.permissions.get(i))) {
+                fingerprint.set(i);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the filtered copy of a root command for a fingerprint, building it on first use.
+     *
+     * @param node        dispatcher node of the root command
+     * @param fingerprint permission fingerprint of the source
+     * @param source      source the tree is filtered for
+     * @param filler      vanilla tree filtering
+     * @return the filtered node, or {@code null} if the source can not use the command
+     */
+    synchronized @Nullable CommandNode<SharedSuggestionProvider> filtered(
+        final CommandNode<CommandSourceStack> node,
+        final BitSet fingerprint,
+        final CommandSourceStack source,
+        final CommandTreeHooks.TreeFiller filler
+    ) {
+        final Map<CommandNode<CommandSourceStack>, Optional<CommandNode<SharedSuggestionProvider>>> nodes =
+            this.filtered.computeIfAbsent(fingerprint, $ -> new IdentityHashMap<>());
+        Optional<CommandNode<SharedSuggestionProvider>> filteredNode = nodes.get(node);
+        if (filteredNode == null) {
+            filteredNode = Optional.ofNullable(filter(node, source, filler));
+            nodes.put(node, filteredNode);
+        }
+        return filteredNode.orElse(null);
+    }
+
+    private static @Nullable CommandNode<SharedSuggestionProvider> filter(
+        final CommandNode<CommandSourceStack> node,
+        final CommandSourceStack source,
+        final CommandTreeHooks.TreeFiller filler
+    ) {
+        final RootCommandNode<CommandSourceStack> from = new RootCommandNode<>();
+        from.addChild(node);
+        final RootCommandNode<SharedSuggestionProvider> to = new RootCommandNode<>();
+        final Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map = new IdentityHashMap<>();
+        map.put(from, to);
+        filler.fill(from, to, source, map);
+        return to.getChild(node.getName());
+    }
+
+    private static <C> boolean collectPermissions(
+        final Set<String> permissions,
+        final Collection<org.incendo.cloud.internal.CommandNode<C>> nodes
+    ) {
+        for (final org.incendo.cloud.internal.CommandNode<C> node : nodes) {
+            final @Nullable Command<C> owningCommand = node.command();
+            if (owningCommand != null && !collectPermission(permissions, owningCommand.commandPermission())) {
+                return false;
+            }
+            if (!collectPermissions(permissions, node.children())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectPermission(final Set<String> permissions, final Permission permission) {
+        if (permission instanceof PredicatePermission<?>) {
+            return false;
+        }
+        if (permission == Permission.empty()) {
+            return true;
+        }
+        if (permission instanceof OrPermission || permission instanceof AndPermission) {
+            for (final Permission child : permission.permissions()) {
+                if (!collectPermission(permissions, child)) {
+                    return false;
+                }
+            }
+        } else {
+            permissions.add(permission.permissionString());
+        }
+        return true;
+    }
+}
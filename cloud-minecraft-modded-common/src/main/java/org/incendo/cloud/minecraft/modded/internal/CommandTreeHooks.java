@@ -0,0 +1,253 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.collect.MapMaker;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.server.level.ServerPlayer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.minecraft.modded.CommandTreeSettings;
+
+/**
+ * Hooks into how the vanilla command tree is filtered for and sent to players, called from the platform mixins
+ * into {@code Commands}.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class CommandTreeHooks {
+
+    private static final Map<CommandNode<?>, CommandTreeSettings> ALIASES = new MapMaker().weakKeys().makeMap();
+    private static final Map<CommandNode<?>, CommandTreeCache<?>> CACHED_ROOTS = new MapMaker().weakKeys().makeMap();
+    private static final ThreadLocal<PermissionScope> SCOPE = new ThreadLocal<>();
+
+    private CommandTreeHooks() {
+    }
+
+    /**
+     * Marks a node as the alias redirect of a root command, to be sent to players depending on
+     * {@link CommandTreeSettings#sendAliases()}.
+     *
+     * @param <N>      node type
+     * @param node     alias node
+     * @param settings settings of the owning manager
+     * @return the node
+     */
+    public static <N extends CommandNode<?>> @NonNull N alias(final @NonNull N node, final @NonNull CommandTreeSettings settings) {
+        ALIASES.put(node, settings);
+        return node;
+    }
+
+    /**
+     * Returns whether a node may be included in the tree sent to players, before its requirement is tested.
+     *
+     * @param node node
+     * @return whether to consider the node
+     */
+    public static boolean sendToClient(final @NonNull CommandNode<?> node) {
+        final @Nullable CommandTreeSettings settings = ALIASES.get(node);
+        return settings == null || settings.sendAliases();
+    }
+
+    /**
+     * Marks a dispatcher node as a root command whose filtered copies are cached.
+     *
+     * @param node  root command node
+     * @param cache cache of the owning manager
+     */
+    static void cacheable(final CommandNode<CommandSourceStack> node, final CommandTreeCache<?> cache) {
+        CACHED_ROOTS.put(node, cache);
+    }
+
+    /**
+     * Stops caching the filtered copies of a root command.
+     *
+     * @param node root command node
+     */
+    static void uncacheable(final CommandNode<CommandSourceStack> node) {
+        CACHED_ROOTS.remove(node);
+    }
+
+    /**
+     * Fills the command tree sent to a player, in place of the vanilla filtering in {@code Commands#sendCommands}.
+     *
+     * <p>While no root command is cached, this is the vanilla filtering. Otherwise cached copies of cloud root commands
+     * are reused, and the other root commands are filtered as usual, with their redirects to cached root commands
+     * resolving to the cached copies. Either way, permission checks for the player are cached until the tree is
+     * filled.</p>
+     *
+     * @param from   dispatcher root
+     * @param to     root of the tree to send
+     * @param source source of the player
+     * @param map    already copied nodes, used to resolve redirects
+     * @param filler the vanilla tree filtering
+     */
+    public static void fillTree(
+        final @NonNull CommandNode<CommandSourceStack> from,
+        final @NonNull CommandNode<SharedSuggestionProvider> to,
+        final @NonNull CommandSourceStack source,
+        final @NonNull Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map,
+        final @NonNull TreeFiller filler
+    ) {
+        final @Nullable ServerPlayer player = source.getPlayer();
+        if (player == null) {
+            filler.fill(from, to, source, map);
+            return;
+        }
+        beginSend(player);
+        try {
+            if (CACHED_ROOTS.isEmpty() || !fillCached(from, to, source, map, filler)) {
+                filler.fill(from, to, source, map);
+            }
+        } finally {
+            endSend();
+        }
+    }
+
+    private static boolean fillCached(
+        final CommandNode<CommandSourceStack> from,
+        final CommandNode<SharedSuggestionProvider> to,
+        final CommandSourceStack source,
+        final Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map,
+        final TreeFiller filler
+    ) {
+        final RootCommandNode<CommandSourceStack> uncached = new RootCommandNode<>();
+        final Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> filtered = new IdentityHashMap<>();
+        final Map<CommandTreeCache<?>, BitSet> fingerprints = new IdentityHashMap<>();
+        boolean cached = false;
+        for (final CommandNode<CommandSourceStack> child : from.getChildren()) {
+            final @Nullable CommandTreeCache<?> cache = CACHED_ROOTS.get(child);
+            /* Unbuilt lazy roots are sent as a placeholder, which must not outlive their materialization */
+            if (cache == null || !cache.enabled() || !sendToClient(child)
+                || child instanceof LazyLiteralCommandNode<CommandSourceStack> lazyNode && !lazyNode.materialized()) {
+                uncached.addChild(child);
+                continue;
+            }
+            cached = true;
+            final BitSet fingerprint = fingerprints.computeIfAbsent(cache, $ -> cache.fingerprint(source));
+            final @Nullable CommandNode<SharedSuggestionProvider> filteredChild = cache.filtered(child, fingerprint, source, filler);
+            if (filteredChild != null) {
+                filtered.put(child, filteredChild);
+            }
+        }
+        if (!cached) {
+            return false;
+        }
+        for (final Map.Entry<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> entry : filtered.entrySet()) {
+            to.addChild(entry.getValue());
+            map.put(entry.getKey(), entry.getValue());
+        }
+        map.put(uncached, to);
+        filler.fill(uncached, to, source, map);
+        return true;
+    }
+
+    /**
+     * Starts filtering the command tree for a player on the current thread, replacing any previous scope.
+     *
+     * <p>Until {@link #endSend()}, permission checks for that player are answered from a cache, as the same
+     * permission is usually required by many nodes.</p>
+     *
+     * @param player player
+     */
+    private static void beginSend(final ServerPlayer player) {
+        SCOPE.set(new PermissionScope(player, new HashMap<>()));
+    }
+
+    /**
+     * Returns whether the command tree is being filtered for a player on the current thread.
+     *
+     * @return whether a command tree is being sent
+     */
+    public static boolean sending() {
+        return SCOPE.get() != null;
+    }
+
+    /**
+     * Stops filtering the command tree on the current thread.
+     */
+    private static void endSend() {
+        SCOPE.remove();
+    }
+
+    /**
+     * Checks a permission, reusing the result of an earlier check for the same player while their command tree is
+     * being filtered.
+     *
+     * @param source     source to check
+     * @param permission permission node
+     * @param check      the actual permission check
+     * @return whether the permission is granted
+     */
+    public static boolean testPermission(
+        final @NonNull CommandSourceStack source,
+        final @NonNull String permission,
+        final @NonNull BooleanSupplier check
+    ) {
+        final @Nullable PermissionScope scope = SCOPE.get();
+        if (scope == null || source.getPlayer() != scope.player()) {
+            return check.getAsBoolean();
+        }
+        final @Nullable Boolean cached = scope.results().get(permission);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean granted = check.getAsBoolean();
+        scope.results().put(permission, granted);
+        return granted;
+    }
+
+    /**
+     * The vanilla {@code Commands#fillUsableCommands}.
+     */
+    @FunctionalInterface
+    public interface TreeFiller {
+
+        /**
+         * Copies the children of {@code from} that the source can use to {@code to}.
+         *
+         * @param from   node to copy the children of
+         * @param to     node to copy the children to
+         * @param source source the tree is filtered for
+         * @param map    already copied nodes, used to resolve redirects
+         */
+        void fill(
+            @NonNull CommandNode<CommandSourceStack> from,
+            @NonNull CommandNode<SharedSuggestionProvider> to,
+            @NonNull CommandSourceStack source,
+            @NonNull Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> map
+        );
+    }
+
+    private record PermissionScope(ServerPlayer player, Map<String, Boolean> results) {
+    }
+}
@@ -0,0 +1,103 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.game.ClientboundCommandsPacket;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Measures how many bytes root commands take up in the command tree packet.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class CommandTreeSize {
+
+    private CommandTreeSize() {
+    }
+
+    /**
+     * Measures the encoded size of a whole tree and of each of its root commands on its own.
+     *
+     * <p>A root command's size includes the nodes it redirects to, so an alias is measured together with the command
+     * it points at.</p>
+     *
+     * @param root root node
+     * @return the measurement, with root commands ordered from largest to smallest
+     */
+    public static @NonNull Measurement measure(final @NonNull RootCommandNode<?> root) {
+        final int empty = encodedSize(new RootCommandNode<>());
+        final List<RootCommand> commands = new ArrayList<>();
+        for (final CommandNode<?> child : root.getChildren()) {
+            commands.add(new RootCommand(child.getName(), encodedSize(single(child)) - empty));
+        }
+        commands.sort(Comparator.comparingInt(RootCommand::bytes).reversed());
+        return new Measurement(encodedSize(root), List.copyOf(commands));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RootCommandNode<?> single(final CommandNode<?> child) {
+        final RootCommandNode root = new RootCommandNode<>();
+        root.addChild(child);
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int encodedSize(final RootCommandNode<?> root) {
+        final FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            // The packet only reads the structure of the tree, so the source type does not matter
+            final ClientboundCommandsPacket packet = new ClientboundCommandsPacket((RootCommandNode<SharedSuggestionProvider>) root);
+            ClientboundCommandsPacket.STREAM_CODEC.encode(buffer, packet);
+            return buffer.readableBytes();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * The measured size of a tree.
+     *
+     * @param totalBytes encoded size of the whole tree
+     * @param commands   encoded size of each root command, largest first
+     */
+    public record Measurement(int totalBytes, @NonNull List<RootCommand> commands) {
+    }
+
+    /**
+     * The measured size of a root command.
+     *
+     * @param name  command name
+     * @param bytes encoded size
+     */
+    public record RootCommand(@NonNull String name, int bytes) {
+    }
+}
@@ -28,6 +28,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import net.minecraft.commands.CommandBuildContext;
@@ -59,7 +61,8 @@ public final class ContextualArgumentTypeProvider<V> implements Supplier<Argumen
         final boolean resetExisting,
         final Runnable action
     ) {
-        final ThreadLocalContext context = new ThreadLocalContext(commandManager, ctx);
+        final ThreadLocalContext previous = CONTEXT.get();
+        final ThreadLocalContext context = new ThreadLocalContext(commandManager, ctx, new AtomicInteger());
         CONTEXT.set(context);
 
         try {
@@ -73,13 +76,52 @@ public final class ContextualArgumentTypeProvider<V> implements Supplier<Argumen
 
             action.run();
         } finally {
-            CONTEXT.remove();
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Binds a supplier to the build context exposed on this thread, so it can compute argument types when called
+     * later, after the context is no longer exposed.
+     *
+     * @param <T>      result type
+     * @param supplier supplier to bind
+     * @return a supplier exposing the current build context while it runs, or {@code supplier} if there is none
+     */
+    public static <T> Supplier<T> bindBuildContext(final Supplier<T> supplier) {
+        final ThreadLocalContext context = CONTEXT.get();
+        if (context == null) {
+            return supplier;
         }
+        return () -> {
+            final AtomicReference<T> result = new AtomicReference<>();
+            withBuildContext(context.commandManager(), context.commandBuildContext(), false, () -> result.set(supplier.get()));
+            return result.get();
+        };
+    }
+
+    /**
+     * Returns how many times an argument type was requested from a provider while the current build context was
+     * exposed on this thread.
+     *
+     * <p>Comparing the count before and after building a node tells whether the node depends on the build
+     * context.</p>
+     *
+     * @return the number of requests, or {@code 0} if no build context is exposed
+     */
+    public static int lookups() {
+        final ThreadLocalContext ctx = CONTEXT.get();
+        return ctx == null ? 0 : ctx.lookups().get();
     }
 
     private record ThreadLocalContext(
         CommandManager<?> commandManager,
-        CommandBuildContext commandBuildContext
+        CommandBuildContext commandBuildContext,
+        AtomicInteger lookups
     ) {
         private Set<ContextualArgumentTypeProvider<?>> instances() {
             return INSTANCES.computeIfAbsent(this.commandManager, $ -> Collections.newSetFromMap(new WeakHashMap<>()));
@@ -100,6 +142,7 @@ public final class ContextualArgumentTypeProvider<V> implements Supplier<Argumen
         final ThreadLocalContext ctx = CONTEXT.get();
 
         if (ctx != null) {
+            ctx.lookups().incrementAndGet();
             synchronized (INSTANCES) {
                 ctx.instances().add(this);
             }
@@ -37,9 +37,12 @@ public interface EntitySelectorAccess {
     @NonNull String inputString();
 
     /**
-     * Set the last parsed input string
+     * Set the last parsed input as a range of the source string, which is only copied once
+     * {@link #inputString()} is called
      *
-     * @param inputString input string
+     * @param source source string
+     * @param start  start index, inclusive
+     * @param end    end index, exclusive
      */
-    void inputString(@NonNull String inputString);
+    void inputString(@NonNull String source, int start, int end);
 }
@@ -0,0 +1,132 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.logging.LogUtils;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.minecraft.modded.ExceptionHandlerSettings;
+import org.slf4j.Logger;
+
+/**
+ * Limits how often unexpected command errors are logged in full.
+ *
+ * <p>Occurrences are grouped by root command and exception type. Within each interval, the first
+ * {@link ExceptionHandlerSettings#errorLogLimit()} occurrences of a group are logged, and the rest are counted and
+ * reported in a single summary line once the interval ends.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ErrorLogLimiter {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private final ExceptionHandlerSettings settings;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param settings settings providing the limit and interval
+     */
+    public ErrorLogLimiter(final @NonNull ExceptionHandlerSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Records an occurrence of {@code exceptionType} in {@code command}, returning whether it should be logged in full.
+     *
+     * @param command       the root command, or the raw input if it could not be determined
+     * @param exceptionType the type of the exception
+     * @return whether to log the occurrence
+     */
+    public boolean shouldLog(final @NonNull String command, final @NonNull Class<?> exceptionType) {
+        final Key key = new Key(command, exceptionType);
+        final Window window = this.windows.computeIfAbsent(key, k -> new Window());
+        final long interval = this.settings.errorLogInterval().toNanos();
+        final long now = System.nanoTime();
+        synchronized (window) {
+            if (now - window.start >= interval) {
+                summarize(key, window, interval);
+                window.start = now;
+                window.logged = 0;
+                window.generation++;
+            }
+            if (window.logged < this.settings.errorLogLimit()) {
+                window.logged++;
+                return true;
+            }
+            if (window.suppressed++ == 0) {
+                final long generation = window.generation;
+                final long delay = window.start + interval - now;
+                Scheduler.INSTANCE.schedule(() -> {
+                    synchronized (window) {
+                        if (window.generation == generation) {
+                            summarize(key, window, interval);
+                        }
+                    }
+                }, delay, TimeUnit.NANOSECONDS);
+            }
+            return false;
+        }
+    }
+
+    private static void summarize(final Key key, final Window window, final long interval) {
+        if (window.suppressed == 0) {
+            return;
+        }
+        LOGGER.warn(
+            "{} further occurrence(s) of {} in command '{}' in the last {}s were not logged",
+            window.suppressed,
+            key.exceptionType().getName(),
+            key.command(),
+            TimeUnit.NANOSECONDS.toSeconds(interval)
+        );
+        window.suppressed = 0;
+    }
+
+    private record Key(String command, Class<?> exceptionType) {
+    }
+
+    private static final class Window {
+
+        private long start = System.nanoTime();
+        private long generation;
+        private int logged;
+        private int suppressed;
+    }
+
+    private static final class Scheduler {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "cloud-error-log-summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
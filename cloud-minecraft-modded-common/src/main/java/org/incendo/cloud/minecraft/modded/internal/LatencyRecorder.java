@@ -0,0 +1,98 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.minecraft.modded.LatencySnapshot;
+
+/**
+ * A lock-free latency histogram with one bucket per power of two nanoseconds.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class LatencyRecorder {
+
+    private static final int BUCKETS = 64;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    /**
+     * Creates a new empty recorder.
+     */
+    public LatencyRecorder() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Creates an array of empty recorders.
+     *
+     * @param size array size
+     * @return the recorders
+     */
+    public static @NonNull LatencyRecorder @NonNull [] array(final int size) {
+        final LatencyRecorder[] recorders = new LatencyRecorder[size];
+        for (int i = 0; i < size; i++) {
+            recorders[i] = new LatencyRecorder();
+        }
+        return recorders;
+    }
+
+    /**
+     * Records a sample.
+     *
+     * @param nanos   duration in nanoseconds, negative values are clamped to zero
+     * @param success whether the measured operation succeeded
+     */
+    public void record(final long nanos, final boolean success) {
+        final long sample = Math.max(0, nanos);
+        this.count.increment();
+        if (!success) {
+            this.failures.increment();
+        }
+        this.totalNanos.add(sample);
+        this.maxNanos.accumulate(sample);
+        this.buckets[sample == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(sample)].increment();
+    }
+
+    /**
+     * Copies the current state. Samples recorded concurrently may be partially included.
+     *
+     * @return the snapshot
+     */
+    public @NonNull LatencySnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return new LatencySnapshot(this.count.sum(), this.failures.sum(), this.totalNanos.sum(), this.maxNanos.get(), counts);
+    }
+}
@@ -0,0 +1,190 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.minecraft.modded.CommandTreeSettings;
+import org.incendo.cloud.permission.Permission;
+
+/**
+ * A root command literal whose Brigadier subtree is only built once it is first parsed or suggested.
+ *
+ * <p>Until then, the command tree sent to players contains a single greedy string argument below the literal, so
+ * players can still run the command and ask the server for suggestions, which builds the real subtree.</p>
+ *
+ * @param <S> native sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class LazyLiteralCommandNode<S> extends LiteralCommandNode<S> {
+
+    private final Supplier<CommandNode<S>> builder;
+    private final CommandNode<S> placeholder;
+    private volatile boolean materialized;
+
+    private LazyLiteralCommandNode(
+        final String literal,
+        final Command<S> command,
+        final Predicate<S> requirement,
+        final Supplier<CommandNode<S>> builder
+    ) {
+        super(literal, command, requirement, null, null, false);
+        this.builder = builder;
+        this.placeholder = RequiredArgumentBuilder.<S, String>argument("arguments", StringArgumentType.greedyString())
+            .suggests((context, suggestions) -> suggestions.buildFuture())
+            .executes(command)
+            .build();
+    }
+
+    /**
+     * Creates a lazy node for a root command, if its command tree is large enough according to
+     * {@link CommandTreeSettings#lazyRootThreshold()}.
+     *
+     * @param <C>          command sender type
+     * @param <S>          native sender type
+     * @param manager      command manager
+     * @param senderMapper sender mapper of the manager
+     * @param settings     command tree settings of the manager
+     * @param name         root command name
+     * @param executor     Brigadier command executing cloud commands
+     * @param builder      builds the complete node of the root command
+     * @return the lazy node, or {@code null} if the root command should be built right away
+     */
+    public static <C, S> @Nullable LazyLiteralCommandNode<S> forRoot(
+        final @NonNull CommandManager<C> manager,
+        final @NonNull SenderMapper<S, C> senderMapper,
+        final @NonNull CommandTreeSettings settings,
+        final @NonNull String name,
+        final @NonNull Command<S> executor,
+        final @NonNull Supplier<CommandNode<S>> builder
+    ) {
+        final int threshold = settings.lazyRootThreshold();
+        if (threshold <= 0) {
+            return null;
+        }
+        final org.incendo.cloud.internal.@Nullable CommandNode<C> cloudNode = manager.commandTree().getNamedNode(name);
+        if (cloudNode == null || countNodes(cloudNode, threshold) < threshold) {
+            return null;
+        }
+        final Permission permission = (Permission) cloudNode.nodeMeta().getOrDefault(
+            org.incendo.cloud.internal.CommandNode.META_KEY_PERMISSION,
+            Permission.empty()
+        );
+        return new LazyLiteralCommandNode<>(
+            name,
+            executor,
+            source -> manager.testPermission(senderMapper.map(source), permission).allowed(),
+            ContextualArgumentTypeProvider.bindBuildContext(builder)
+        );
+    }
+
+    /**
+     * Creates an alias redirecting to a lazy root command, without building its subtree.
+     *
+     * @param <S>         native sender type
+     * @param alias       alias
+     * @param destination lazy root command
+     * @return the alias node
+     */
+    public static <S> @NonNull LiteralCommandNode<S> redirect(
+        final @NonNull String alias,
+        final @NonNull LazyLiteralCommandNode<S> destination
+    ) {
+        return LiteralArgumentBuilder.<S>literal(alias)
+            .requires(destination.getRequirement())
+            .executes(destination.getCommand())
+            .redirect(destination)
+            .build();
+    }
+
+    /**
+     * Returns whether the subtree of this node has been built.
+     *
+     * @return whether the node is materialized
+     */
+    public boolean materialized() {
+        return this.materialized;
+    }
+
+    @Override
+    public Collection<CommandNode<S>> getChildren() {
+        if (!this.materialized && CommandTreeHooks.sending()) {
+            return List.of(this.placeholder);
+        }
+        this.materialize();
+        return super.getChildren();
+    }
+
+    @Override
+    public CommandNode<S> getChild(final String name) {
+        this.materialize();
+        return super.getChild(name);
+    }
+
+    @Override
+    public Collection<? extends CommandNode<S>> getRelevantNodes(final StringReader input) {
+        this.materialize();
+        return super.getRelevantNodes(input);
+    }
+
+    private void materialize() {
+        if (this.materialized) {
+            return;
+        }
+        synchronized (this) {
+            if (this.materialized) {
+                return;
+            }
+            for (final CommandNode<S> child : this.builder.get().getChildren()) {
+                super.addChild(child);
+            }
+            this.materialized = true;
+        }
+    }
+
+    private static int countNodes(final org.incendo.cloud.internal.CommandNode<?> node, final int limit) {
+        int count = 1;
+        for (final org.incendo.cloud.internal.CommandNode<?> child : node.children()) {
+            if (count >= limit) {
+                break;
+            }
+            count += countNodes(child, limit - count);
+        }
+        return count;
+    }
+}
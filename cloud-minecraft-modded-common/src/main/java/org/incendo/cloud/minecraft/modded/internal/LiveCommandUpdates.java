@@ -0,0 +1,128 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.google.common.collect.MapMaker;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.TickTask;
+import net.minecraft.server.level.ServerPlayer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.component.CommandComponent;
+
+/**
+ * Applies command registrations and deletions made after a server's dispatcher was built to that dispatcher, and
+ * resends the command tree to players afterwards.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class LiveCommandUpdates {
+
+    private final AtomicBoolean resendScheduled = new AtomicBoolean();
+    // Keyed by identity, as nodes of other mods may share the names of ours
+    private final Set<CommandNode<CommandSourceStack>> createdNodes = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    /**
+     * Returns whether a command may be registered on a server, according to its registration environment.
+     *
+     * @param server      server
+     * @param environment registration environment of the command
+     * @return whether to register the command
+     */
+    public static boolean includes(final @NonNull MinecraftServer server, final Commands.@NonNull CommandSelection environment) {
+        return switch (environment) {
+            case ALL -> true;
+            case DEDICATED -> server.isDedicatedServer();
+            case INTEGRATED -> !server.isDedicatedServer();
+        };
+    }
+
+    /**
+     * Records a root command or alias node added to a dispatcher root by the owning handler.
+     *
+     * <p>Only recorded nodes are removed by {@link #removeRootCommand(RootCommandNode, CommandComponent)}, so that
+     * nodes of other mods sharing their names are left alone.</p>
+     *
+     * @param node root command or alias node
+     */
+    public void created(final @NonNull CommandNode<CommandSourceStack> node) {
+        this.createdNodes.add(node);
+    }
+
+    /**
+     * Removes the node of a root command and its alias nodes from a dispatcher, if they were created by the owning
+     * handler.
+     *
+     * <p>A root command merged into a node of another mod is not removed. Brigadier offers no way to remove nodes, so
+     * this modifies the node maps of the root directly.</p>
+     *
+     * @param root          dispatcher root
+     * @param rootComponent root component of the command
+     */
+    public void removeRootCommand(
+        final @NonNull RootCommandNode<CommandSourceStack> root,
+        final @NonNull CommandComponent<?> rootComponent
+    ) {
+        this.removeChild(root, rootComponent.name());
+        for (final String alias : rootComponent.alternativeAliases()) {
+            this.removeChild(root, alias);
+        }
+    }
+
+    /**
+     * Resends the command tree to all players on the next tick. Any further calls until then are merged into the
+     * same resend.
+     *
+     * @param server server
+     */
+    public void resendCommands(final @NonNull MinecraftServer server) {
+        if (!this.resendScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        server.tell(new TickTask(server.getTickCount(), () -> {
+            this.resendScheduled.set(false);
+            for (final ServerPlayer player : server.getPlayerList().getPlayers()) {
+                server.getCommands().sendCommands(player);
+            }
+        }));
+    }
+
+    private void removeChild(final RootCommandNode<CommandSourceStack> root, final String name) {
+        final @Nullable CommandNode<CommandSourceStack> node = root.getChild(name);
+        if (node == null || !this.createdNodes.remove(node)) {
+            return;
+        }
+        final CommandNodeAccess access = (CommandNodeAccess) root;
+        access.childNodes().remove(name);
+        access.literalNodes().remove(name);
+        access.argumentNodes().remove(name);
+    }
+}
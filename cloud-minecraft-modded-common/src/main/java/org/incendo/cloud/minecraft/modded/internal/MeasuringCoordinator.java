@@ -0,0 +1,177 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.CommandTree;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.ArgumentTiming;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.context.CommandInput;
+import org.incendo.cloud.execution.CommandResult;
+import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.execution.postprocessor.CommandPostprocessingContext;
+import org.incendo.cloud.execution.postprocessor.CommandPostprocessor;
+import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.minecraft.modded.CommandMetrics;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+import org.incendo.cloud.minecraft.modded.SlowCommandSettings;
+import org.incendo.cloud.suggestion.Suggestion;
+import org.incendo.cloud.suggestion.Suggestions;
+
+/**
+ * Wraps the execution coordinator of a modded command manager to record {@link CommandMetrics} and emit
+ * {@link CommandTracing} events, and to run the {@link SlowCommandWatchdog}.
+ *
+ * <p>The boundary between parsing and execution is marked by {@link #postprocessor()}, which has to be registered
+ * with the same manager.</p>
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class MeasuringCoordinator<C> implements ExecutionCoordinator<C> {
+
+    private static final CloudKey<Long> EXECUTION_START = CloudKey.of("cloud:metrics-execution-start", Long.class);
+    private static final CloudKey<SlowCommandWatchdog> WATCHDOG = CloudKey.of("cloud:slow-command-watchdog", SlowCommandWatchdog.class);
+    private static final CloudKey<SlowCommandWatchdog.Watch> WATCH =
+        CloudKey.of("cloud:slow-command-watch", SlowCommandWatchdog.Watch.class);
+
+    private final ExecutionCoordinator<C> delegate;
+    private final CommandMetrics metrics;
+    private final SlowCommandWatchdog watchdog;
+
+    /**
+     * Creates a new coordinator.
+     *
+     * @param delegate            coordinator to delegate to
+     * @param metrics             metrics to record into
+     * @param slowCommandSettings settings of the slow command watchdog
+     */
+    public MeasuringCoordinator(
+        final @NonNull ExecutionCoordinator<C> delegate,
+        final @NonNull CommandMetrics metrics,
+        final @NonNull SlowCommandSettings slowCommandSettings
+    ) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.watchdog = new SlowCommandWatchdog(slowCommandSettings);
+    }
+
+    /**
+     * Returns a postprocessor marking the start of command execution.
+     *
+     * @param <C> command sender type
+     * @return the postprocessor
+     */
+    public static <C> @NonNull CommandPostprocessor<C> postprocessor() {
+        return (final CommandPostprocessingContext<C> context) -> {
+            final CommandContext<C> commandContext = context.commandContext();
+            final long start = System.nanoTime();
+            commandContext.store(EXECUTION_START, start);
+            final @Nullable SlowCommandWatchdog watchdog = commandContext.getOrDefault(WATCHDOG, null);
+            final SlowCommandWatchdog.@Nullable Watch watch = watchdog == null ? null : watchdog.start(commandContext, start);
+            if (watch != null) {
+                commandContext.store(WATCH, watch);
+            }
+        };
+    }
+
+    @Override
+    public @NonNull CompletableFuture<CommandResult<C>> coordinateExecution(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> commandContext,
+        final @NonNull CommandInput commandInput
+    ) {
+        final String command = rootCommand(commandTree, commandInput);
+        final CommandTracing.CommandExecuteEvent event = CommandTracing.beginExecute();
+        commandContext.store(WATCHDOG, this.watchdog);
+        final long start = System.nanoTime();
+        return this.delegate.coordinateExecution(commandTree, commandContext, commandInput).whenComplete((result, failure) -> {
+            final long end = System.nanoTime();
+            final SlowCommandWatchdog.@Nullable Watch watch = commandContext.getOrDefault(WATCH, null);
+            if (watch != null) {
+                this.watchdog.finish(watch, commandContext, end);
+            }
+            CommandTracing.endExecute(event, command, nativeSource(commandContext), failure);
+            final @Nullable Long executionStart = commandContext.getOrDefault(EXECUTION_START, null);
+            if (executionStart == null) {
+                this.metrics.record(CommandMetrics.Phase.PARSE, command, end - start, false);
+            } else {
+                this.metrics.record(CommandMetrics.Phase.PARSE, command, executionStart - start, true);
+                this.metrics.record(CommandMetrics.Phase.EXECUTION, command, end - executionStart, failure == null);
+            }
+            this.recordArguments(command, commandContext);
+        });
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Suggestions<C, Suggestion>> coordinateSuggestions(
+        final @NonNull CommandTree<C> commandTree,
+        final @NonNull CommandContext<C> context,
+        final @NonNull CommandInput commandInput
+    ) {
+        final String command = rootCommand(commandTree, commandInput);
+        final CommandTracing.CommandSuggestionEvent event = CommandTracing.beginSuggestions();
+        final long start = System.nanoTime();
+        return this.delegate.coordinateSuggestions(commandTree, context, commandInput).whenComplete((result, failure) -> {
+            this.metrics.record(CommandMetrics.Phase.SUGGESTION, command, System.nanoTime() - start, failure == null);
+            CommandTracing.endSuggestions(event, command, nativeSource(context), result == null ? 0 : result.list().size());
+        });
+    }
+
+    private void recordArguments(final String command, final CommandContext<C> commandContext) {
+        for (final Map.Entry<CommandComponent<C>, ArgumentTiming> entry : commandContext.argumentTimings().entrySet()) {
+            final CommandComponent<C> component = entry.getKey();
+            final long elapsed = entry.getValue().getElapsedTime();
+            if (component.type() == CommandComponent.ComponentType.LITERAL || elapsed < 0) {
+                // literals are not interesting, and a negative time means parsing never finished
+                continue;
+            }
+            final String valueType = GenericTypeReflector.erase(component.valueType().getType()).getName();
+            final boolean success = entry.getValue().wasSuccess();
+            // keyed by parser rather than value type, as many parsers share value types such as String or Integer
+            this.metrics.recordParser(component.parser().getClass().getName(), elapsed, success);
+            CommandTracing.argumentParsed(command, component.name(), component.parser().getClass(), valueType, elapsed, success);
+        }
+    }
+
+    private static @Nullable SharedSuggestionProvider nativeSource(final CommandContext<?> commandContext) {
+        return commandContext.getOrDefault(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, null);
+    }
+
+    private static <C> String rootCommand(final CommandTree<C> commandTree, final CommandInput commandInput) {
+        final @Nullable CommandNode<C> node = commandTree.getNamedNode(commandInput.peekString());
+        if (node == null || node.component() == null) {
+            return CommandMetrics.UNKNOWN_COMMAND;
+        }
+        return node.component().name();
+    }
+}
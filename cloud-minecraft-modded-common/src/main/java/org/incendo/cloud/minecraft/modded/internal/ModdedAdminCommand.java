@@ -0,0 +1,190 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.network.chat.MutableComponent;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.minecraft.modded.CommandMetrics;
+import org.incendo.cloud.minecraft.modded.LatencySnapshot;
+
+/**
+ * The {@code /cloudadmin} maintenance command, registered directly with Brigadier by the platform entrypoints.
+ *
+ * <p>{@code /cloudadmin stats} reports the slowest commands, argument types and permissions of every command manager,
+ * as recorded by {@link CommandMetrics}, and {@code /cloudadmin treesize} the largest root commands in the command tree
+ * packet.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class ModdedAdminCommand {
+
+    /**
+     * The root literal. It is deliberately not {@code cloud}, which Brigadier would silently merge with commands of
+     * the same name registered by mods.
+     */
+    public static final String LITERAL = "cloudadmin";
+    public static final String HOVER_STACKTRACE_PERMISSION = "cloud.hover-stacktrace";
+    public static final String STATS_PERMISSION = "cloud.stats";
+
+    private static final int STATS_LIMIT = 10;
+
+    private ModdedAdminCommand() {
+    }
+
+    /**
+     * Creates the command tree.
+     *
+     * @param permissionChecker checks whether a source has a permission
+     * @return the command builder
+     */
+    public static @NonNull LiteralArgumentBuilder<CommandSourceStack> create(
+        final @NonNull BiPredicate<CommandSourceStack, String> permissionChecker
+    ) {
+        return Commands.literal(LITERAL)
+            .then(Commands.literal("stacktrace")
+                .requires(source -> permissionChecker.test(source, HOVER_STACKTRACE_PERMISSION))
+                .then(Commands.argument("id", StringArgumentType.word())
+                    .executes(ModdedAdminCommand::stackTrace)))
+            .then(Commands.literal("stats")
+                .requires(source -> permissionChecker.test(source, STATS_PERMISSION))
+                .executes(ModdedAdminCommand::commandStats)
+                .then(Commands.literal("parsers").executes(ctx -> latencyStats(ctx, "parsers", CommandMetrics::parsers)))
+                .then(Commands.literal("permissions").executes(ctx -> latencyStats(ctx, "permissions", CommandMetrics::permissions)))
+                .then(Commands.literal("reset").executes(ModdedAdminCommand::resetStats)))
+            .then(Commands.literal("treesize")
+                .requires(source -> permissionChecker.test(source, STATS_PERMISSION))
+                .executes(ModdedAdminCommand::treeSize));
+    }
+
+    private static int treeSize(final CommandContext<CommandSourceStack> ctx) {
+        final CommandTreeSize.Measurement measurement =
+            CommandTreeSize.measure(ctx.getSource().getServer().getCommands().getDispatcher().getRoot());
+        ctx.getSource().sendSystemMessage(Component.literal(String.format(
+            Locale.ROOT,
+            "Unfiltered command tree: %d bytes, %d root command(s)",
+            measurement.totalBytes(),
+            measurement.commands().size()
+        )).withStyle(ChatFormatting.GOLD));
+        measurement.commands().stream()
+            .limit(STATS_LIMIT)
+            .forEach(command -> ctx.getSource().sendSystemMessage(Component.literal(" /" + command.name() + " ")
+                .append(Component.literal(command.bytes() + " bytes").withStyle(ChatFormatting.WHITE))));
+        return 1;
+    }
+
+    private static int commandStats(final CommandContext<CommandSourceStack> ctx) {
+        for (final CommandMetrics metrics : CommandMetrics.all()) {
+            final Map<String, Map<CommandMetrics.Phase, LatencySnapshot>> commands = metrics.commands();
+            ctx.getSource().sendSystemMessage(Component.literal(metrics.owner() + ": " + commands.size() + " command(s)")
+                .withStyle(ChatFormatting.GOLD));
+            commands.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Map<CommandMetrics.Phase, LatencySnapshot>> entry) ->
+                    entry.getValue().values().stream().mapToLong(LatencySnapshot::totalNanos).sum()).reversed())
+                .limit(STATS_LIMIT)
+                .forEach(entry -> {
+                    final MutableComponent line = Component.literal(" /" + entry.getKey());
+                    entry.getValue().forEach((phase, snapshot) -> {
+                        if (snapshot.count() > 0) {
+                            final String name = phase.name().toLowerCase(Locale.ROOT);
+                            line.append(Component.literal(" | " + name + " ").withStyle(ChatFormatting.GRAY)).append(describe(snapshot));
+                        }
+                    });
+                    ctx.getSource().sendSystemMessage(line);
+                });
+        }
+        return 1;
+    }
+
+    private static int latencyStats(
+        final CommandContext<CommandSourceStack> ctx,
+        final String label,
+        final Function<CommandMetrics, Map<String, LatencySnapshot>> getter
+    ) {
+        for (final CommandMetrics metrics : CommandMetrics.all()) {
+            final Map<String, LatencySnapshot> snapshots = getter.apply(metrics);
+            ctx.getSource().sendSystemMessage(Component.literal(metrics.owner() + ": " + snapshots.size() + " " + label)
+                .withStyle(ChatFormatting.GOLD));
+            snapshots.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LatencySnapshot> entry) -> entry.getValue().totalNanos()).reversed())
+                .limit(STATS_LIMIT)
+                .forEach(entry -> ctx.getSource().sendSystemMessage(Component.literal(" " + entry.getKey() + " ")
+                    .append(describe(entry.getValue()))));
+        }
+        return 1;
+    }
+
+    private static int resetStats(final CommandContext<CommandSourceStack> ctx) {
+        CommandMetrics.all().forEach(CommandMetrics::reset);
+        ctx.getSource().sendSuccess(() -> Component.literal("Cloud command metrics were reset"), true);
+        return 1;
+    }
+
+    private static Component describe(final LatencySnapshot snapshot) {
+        return Component.literal(String.format(
+            Locale.ROOT,
+            "n=%d fail=%d p50=%s p99=%s max=%s",
+            snapshot.count(),
+            snapshot.failures(),
+            millis(snapshot.percentileNanos(0.5)),
+            millis(snapshot.percentileNanos(0.99)),
+            millis(snapshot.maxNanos())
+        )).withStyle(ChatFormatting.WHITE);
+    }
+
+    private static String millis(final long nanos) {
+        return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+    }
+
+    private static int stackTrace(final CommandContext<CommandSourceStack> ctx) {
+        final String id = StringArgumentType.getString(ctx, "id");
+        final @Nullable String trace = StackTraceStore.get(id);
+        if (trace == null) {
+            ctx.getSource().sendFailure(Component.literal("Unknown or expired stack trace id '" + id + "'"));
+            return 0;
+        }
+        ctx.getSource().sendSystemMessage(Component.literal(trace).withStyle(style -> style
+            .withColor(ChatFormatting.GRAY)
+            .withHoverEvent(new HoverEvent(
+                HoverEvent.Action.SHOW_TEXT,
+                Component.literal("Click to copy").withStyle(s2 -> s2.withItalic(true))
+            ))
+            .withClickEvent(new ClickEvent(ClickEvent.Action.COPY_TO_CLIPBOARD, trace))));
+        return 1;
+    }
+}
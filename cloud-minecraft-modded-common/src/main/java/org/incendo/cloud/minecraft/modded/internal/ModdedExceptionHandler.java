@@ -25,8 +25,6 @@ package org.incendo.cloud.minecraft.modded.internal;
 
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.logging.LogUtils;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -37,7 +35,6 @@ import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.ComponentUtils;
 import net.minecraft.network.chat.HoverEvent;
-import net.minecraft.network.chat.MutableComponent;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -55,8 +52,12 @@ import org.incendo.cloud.exception.NoSuchCommandException;
 import org.incendo.cloud.exception.handling.ExceptionContext;
 import org.incendo.cloud.exception.handling.ExceptionHandler;
 import org.incendo.cloud.exception.parsing.ParserException;
+import org.incendo.cloud.minecraft.modded.CommandAdmissionException;
+import org.incendo.cloud.minecraft.modded.ExceptionHandlerSettings;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftVariable;
+import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.parser.VanillaArgumentParsers;
 import org.incendo.cloud.util.TypeUtils;
 import org.slf4j.Logger;
 
@@ -89,14 +90,16 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
      *
      * @param commandManager   the command manager
      * @param captionFormatter caption formatter
+     * @param settings         exception handler settings
      * @param <M>            command manager type
      * @param <C>            command sender type
      */
     static <C, M extends CommandManager<C> & BrigadierManagerHolder<C, CommandSourceStack>> void registerDefaults(
         final M commandManager,
-        final CaptionFormatter<C, Component> captionFormatter
+        final CaptionFormatter<C, Component> captionFormatter,
+        final ExceptionHandlerSettings settings
     ) {
-        registerDefaults(commandManager, CommandSourceStack::sendFailure, CommandSourceStack::getTextName, captionFormatter);
+        registerDefaults(commandManager, CommandSourceStack::sendFailure, CommandSourceStack::getTextName, captionFormatter, settings);
     }
 
     /**
@@ -106,6 +109,7 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
      * @param sendError        error message sender
      * @param getName          name getter
      * @param captionFormatter caption formatter
+     * @param settings         exception handler settings
      * @param <M>              command manager type
      * @param <C>              command sender type
      * @param <S>              command source type
@@ -115,30 +119,32 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
             final M commandManager,
         final BiConsumer<S, Component> sendError,
         final Function<S, String> getName,
-        final CaptionFormatter<C, Component> captionFormatter
+        final CaptionFormatter<C, Component> captionFormatter,
+        final ExceptionHandlerSettings settings
     ) {
         final RegisterContext<C, S> ctx = new RegisterContext<>(commandManager);
+        final ErrorLogLimiter logLimiter = new ErrorLogLimiter(settings);
         ctx.registerHandler(Throwable.class, (source, exceptionContext) -> {
             sendError.accept(source, decorateHoverStacktrace(
                 commandManager,
+                settings,
+                source,
                 exceptionContext.context().formatCaption(captionFormatter, StandardCaptionKeys.EXCEPTION_UNEXPECTED),
                 exceptionContext.exception(),
                 exceptionContext.context().sender()
             ));
-            LOGGER.warn("Error occurred while executing command for user {}", getName.apply(source), exceptionContext.exception());
+            logUnexpected(logLimiter, exceptionContext, getName.apply(source), exceptionContext.exception());
         });
         ctx.registerHandler(CommandExecutionException.class, (source, exceptionContext) -> {
             sendError.accept(source, decorateHoverStacktrace(
                 commandManager,
+                settings,
+                source,
                 exceptionContext.context().formatCaption(captionFormatter, StandardCaptionKeys.EXCEPTION_UNEXPECTED),
                 exceptionContext.exception().getCause(),
                 exceptionContext.context().sender()
             ));
-            LOGGER.warn(
-                "Error occurred while executing command for user {}",
-                getName.apply(source),
-                exceptionContext.exception().getCause()
-            );
+            logUnexpected(logLimiter, exceptionContext, getName.apply(source), exceptionContext.exception().getCause());
         });
         ctx.registerHandler(ArgumentParseException.class, (source, exceptionContext) -> {
             final Component msg;
@@ -169,6 +175,12 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
                 StandardCaptionKeys.EXCEPTION_NO_PERMISSION
             ));
         });
+        ctx.registerHandler(CommandAdmissionException.class, (source, exceptionContext) -> {
+            sendError.accept(source, exceptionContext.context().formatCaption(
+                captionFormatter,
+                ModdedCaptionKeys.EXCEPTION_TOO_MANY_COMMANDS
+            ));
+        });
         ctx.registerHandler(InvalidCommandSenderException.class, (source, exceptionContext) -> {
             final boolean multiple = exceptionContext.exception().requiredSenderTypes().size() > 1;
             final String expected = multiple
@@ -197,12 +209,33 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
             final Class<T> exceptionType,
             final ModdedExceptionHandler<C, S, T> handler
         ) {
-            this.manager.exceptionController().registerHandler(exceptionType, handler);
+            this.manager.exceptionController().registerHandler(exceptionType, exceptionContext -> {
+                CommandTracing.exceptionHandled(
+                    exceptionContext.context().rawInput().input(),
+                    exceptionContext.context().getOrDefault(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, null),
+                    exceptionContext.exception()
+                );
+                handler.handle(exceptionContext);
+            });
+        }
+    }
+
+    private static <C> void logUnexpected(
+        final ErrorLogLimiter logLimiter,
+        final ExceptionContext<C, ?> exceptionContext,
+        final String user,
+        final Throwable cause
+    ) {
+        final String command = CommandNames.rootCommand(exceptionContext.context().rawInput().input());
+        if (logLimiter.shouldLog(command, cause.getClass())) {
+            LOGGER.warn("Error occurred while executing command for user {}", user, cause);
         }
     }
 
     private static <C> Component decorateHoverStacktrace(
         final CommandManager<C> manager,
+        final ExceptionHandlerSettings settings,
+        final SharedSuggestionProvider source,
         final Component input,
         final Throwable cause,
         final C sender
@@ -211,21 +244,25 @@ public interface ModdedExceptionHandler<C, S extends SharedSuggestionProvider, T
             return input;
         }
 
-        final MutableComponent result = input.copy();
-        final StringWriter writer = new StringWriter();
-        cause.printStackTrace(new PrintWriter(writer));
-        final String stackTrace = writer.toString().replace("\t", "    ");
-        return result.withStyle(style -> style
+        final String stackTrace = StackTraceRenderer.render(cause, settings.hoverStackTraceFrames());
+        // Only server sources can run the fetch command; client commands keep the trace in the message
+        final boolean store = settings.storeStackTraces()
+            && source instanceof CommandSourceStack
+            && !VanillaArgumentParsers.isClientSource(source);
+        final ClickEvent clickEvent = store
+            ? new ClickEvent(
+                ClickEvent.Action.RUN_COMMAND,
+                "/" + ModdedAdminCommand.LITERAL + " stacktrace " + StackTraceStore.store(cause)
+            )
+            : new ClickEvent(ClickEvent.Action.COPY_TO_CLIPBOARD, stackTrace);
+        return input.copy().withStyle(style -> style
             .withHoverEvent(new HoverEvent(
                 HoverEvent.Action.SHOW_TEXT,
                 Component.literal(stackTrace)
                     .append(NEWLINE)
-                    .append(Component.literal("    Click to copy")
+                    .append(Component.literal(store ? "    Click to view full stack trace" : "    Click to copy")
                         .withStyle(s2 -> s2.withColor(ChatFormatting.GRAY).withItalic(true)))
             ))
-            .withClickEvent(new ClickEvent(
-                ClickEvent.Action.COPY_TO_CLIPBOARD,
-                stackTrace
-            )));
+            .withClickEvent(clickEvent));
     }
 }
@@ -26,7 +26,10 @@ package org.incendo.cloud.minecraft.modded.internal;
 import net.minecraft.commands.SharedSuggestionProvider;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.SenderMapper;
+import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
+import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
 import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
@@ -47,9 +50,32 @@ public final class ModdedPreprocessor<C> implements CommandPreprocessor<C> {
 
     @Override
     public void accept(final @NonNull CommandPreprocessingContext<C> context) {
-        context.commandContext().store(
-            ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER,
-            this.mapper.reverse(context.commandContext().sender())
-        );
+        nativeSource(context.commandContext(), this.mapper);
+    }
+
+    /**
+     * Returns the native source of {@code context}, storing it in the context if it was not already.
+     *
+     * <p>Requests coming from Brigadier already carry their native source, so the sender mapper is only consulted for
+     * requests made directly through cloud.</p>
+     *
+     * @param context command context
+     * @param mapper  sender mapper
+     * @param <C>     command sender type
+     * @return the native source
+     */
+    public static <C> @NonNull SharedSuggestionProvider nativeSource(
+        final @NonNull CommandContext<C> context,
+        final @NonNull SenderMapper<? extends SharedSuggestionProvider, C> mapper
+    ) {
+        return context.computeIfAbsent(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, key -> {
+            final @Nullable Object brigadierSource = context
+                .<Object>optional(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER)
+                .orElse(null);
+            if (brigadierSource instanceof SharedSuggestionProvider source) {
+                return source;
+            }
+            return mapper.reverse(context.sender());
+        });
     }
 }
@@ -24,14 +24,13 @@
 package org.incendo.cloud.minecraft.modded.internal;
 
 import io.leangen.geantyref.TypeToken;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import net.kyori.adventure.util.Services;
-import net.minecraft.commands.CommandSigningContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.arguments.MessageArgument;
 import net.minecraft.network.chat.PlayerChatMessage;
 import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.CommandManager;
 import org.incendo.cloud.brigadier.CloudBrigadierManager;
 import org.incendo.cloud.brigadier.parser.WrappedBrigadierParser;
@@ -72,25 +71,12 @@ public final class ModdedSignedStringMapper implements SignedStringMapper {
         final String str
     ) {
         final CommandSourceStack stack = ctx.get(WrappedBrigadierParser.COMMAND_CONTEXT_BRIGADIER_NATIVE_SENDER);
-        final Map<String, PlayerChatMessage> signedArgs;
-        if (stack.getSigningContext() instanceof CommandSigningContext.SignedArguments) {
-            signedArgs = ((CommandSigningContext.SignedArguments) stack.getSigningContext()).arguments();
-        } else {
+        // Brigadier argument nodes are named after their cloud components, and signed arguments are keyed by node name
+        final @Nullable PlayerChatMessage signedMessage = stack.getSigningContext().getArgument(ctx.currentComponent().name());
+        if (signedMessage == null) {
             return ArgumentParseResult.successFuture(SignedString.unsigned(str));
         }
-        if (signedArgs.isEmpty()) {
-            return ArgumentParseResult.successFuture(SignedString.unsigned(str));
-        }
-        if (signedArgs.size() != 1) {
-            throw new IllegalStateException("Found more signed arguments than expected (" + signedArgs.size() + ")");
-        }
-
-        return ArgumentParseResult.successFuture(
-            this.factory.create(
-                str,
-                signedArgs.entrySet().iterator().next().getValue()
-            )
-        );
+        return ArgumentParseResult.successFuture(this.factory.create(str, signedMessage));
     }
 
     public interface SignedStringFactory {
@@ -0,0 +1,112 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.logging.LogUtils;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.players.PlayerList;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Detects command handlers touching server state from the threads of
+ * {@link org.incendo.cloud.minecraft.modded.ModdedExecutionCoordinator#virtualThreads()}.
+ *
+ * <p>Only threads running a {@link #mark(Runnable) marked} task are checked, and a warning is logged once per call
+ * site. The platform mixins check the level, entity and player accessors of {@link CommandSourceStack} and the player
+ * lookups of {@link PlayerList}. Accesses made by cloud's own internals, such as tracing the sender of a completed
+ * command, are not reported.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class OffThreadAccessGuard {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final ThreadLocal<Boolean> COMMAND_THREAD = ThreadLocal.withInitial(() -> false);
+    private static final Set<String> WARNED = ConcurrentHashMap.newKeySet();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Set<Class<?>> GUARDED = Set.of(OffThreadAccessGuard.class, CommandSourceStack.class, PlayerList.class);
+    private static final String INTERNAL_PACKAGE = OffThreadAccessGuard.class.getPackageName() + ".";
+
+    private OffThreadAccessGuard() {
+    }
+
+    /**
+     * Wraps a command task so that accesses from it are checked.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    public static @NonNull Runnable mark(final @NonNull Runnable task) {
+        return () -> {
+            COMMAND_THREAD.set(true);
+            try {
+                task.run();
+            } finally {
+                COMMAND_THREAD.remove();
+            }
+        };
+    }
+
+    /**
+     * Returns whether the current thread is running a marked command task.
+     *
+     * @return whether the current thread is an off-thread command thread
+     */
+    public static boolean isCommandThread() {
+        return COMMAND_THREAD.get();
+    }
+
+    /**
+     * Called when {@code accessed} is used, warning if this happens from a marked command task.
+     *
+     * @param accessed description of the accessed state
+     */
+    public static void check(final @NonNull String accessed) {
+        if (!COMMAND_THREAD.get()) {
+            return;
+        }
+        final StackWalker.@Nullable StackFrame caller = WALKER.walk(frames -> frames
+            .filter(frame -> !GUARDED.contains(frame.getDeclaringClass()))
+            .findFirst()
+            .orElse(null));
+        if (caller != null && caller.getClassName().startsWith(INTERNAL_PACKAGE)) {
+            return;
+        }
+        final String callSite = caller == null
+            ? "unknown"
+            : caller.getClassName() + "#" + caller.getMethodName() + ":" + caller.getLineNumber();
+        if (WARNED.add(callSite)) {
+            LOGGER.warn(
+                "{} was accessed off the server thread by a command handler at {}. World state must be accessed on the server"
+                    + " thread, see ServerThread",
+                accessed,
+                callSite
+            );
+        }
+    }
+}
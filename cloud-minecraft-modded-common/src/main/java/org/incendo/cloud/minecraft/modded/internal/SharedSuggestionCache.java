@@ -0,0 +1,117 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import net.minecraft.core.RegistryAccess;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.minecraft.modded.parser.SenderIndependentSuggestions;
+
+/**
+ * A bounded cache of suggestions from {@link SenderIndependentSuggestions} parsers, shared between all senders.
+ *
+ * <p>Entries are keyed on the parser instance, the input and the registry access instance. The platform entrypoints
+ * invalidate the cache when datapacks are reloaded and when a server stops or the client disconnects.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class SharedSuggestionCache {
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final Map<Key, List<String>> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, List<String>> eldest) {
+            return this.size() > MAX_ENTRIES;
+        }
+    });
+
+    private SharedSuggestionCache() {
+    }
+
+    /**
+     * Returns the cached suggestions of {@code parser} for {@code input}, computing them if absent.
+     *
+     * @param parser         the parser
+     * @param input          the input the suggestions depend on
+     * @param registryAccess the registries the suggestions depend on
+     * @param compute        computes the suggestions
+     * @return the suggestions
+     */
+    public static @NonNull List<String> suggestions(
+        final @NonNull SenderIndependentSuggestions parser,
+        final @NonNull String input,
+        final @NonNull RegistryAccess registryAccess,
+        final @NonNull Supplier<List<String>> compute
+    ) {
+        final Key key = new Key(parser, input, registryAccess);
+        final @Nullable List<String> cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Computed outside the lock; concurrent misses for the same key compute identical results
+        final List<String> computed = List.copyOf(compute.get());
+        CACHE.put(key, computed);
+        return computed;
+    }
+
+    /**
+     * Removes all cached suggestions.
+     */
+    public static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    private static final class Key {
+
+        private final Object parser;
+        private final String input;
+        private final Object registryAccess;
+        private final int hash;
+
+        private Key(final Object parser, final String input, final Object registryAccess) {
+            this.parser = parser;
+            this.input = input;
+            this.registryAccess = registryAccess;
+            this.hash = 31 * (31 * System.identityHashCode(parser) + input.hashCode()) + System.identityHashCode(registryAccess);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Key key
+                && this.parser == key.parser
+                && this.registryAccess == key.registryAccess
+                && this.input.equals(key.input);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
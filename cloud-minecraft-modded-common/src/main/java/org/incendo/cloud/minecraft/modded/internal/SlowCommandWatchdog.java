@@ -0,0 +1,202 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.logging.LogUtils;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.server.MinecraftServer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.component.CommandComponent;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
+import org.incendo.cloud.minecraft.modded.SlowCommandSettings;
+import org.slf4j.Logger;
+
+/**
+ * Reports command handlers running longer than {@link SlowCommandSettings#threshold()}.
+ *
+ * <p>A watch is started when a command is about to execute. If it is still running once the threshold passes, the
+ * stack of the executing thread is sampled; when it completes late, a warning is logged.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class SlowCommandWatchdog {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int MAX_ARGUMENT_LENGTH = 48;
+
+    private final SlowCommandSettings settings;
+
+    /**
+     * Creates a new watchdog.
+     *
+     * @param settings watchdog settings
+     */
+    public SlowCommandWatchdog(final @NonNull SlowCommandSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Starts watching a command that is about to execute on the current thread.
+     *
+     * @param context command context
+     * @param start   start timestamp, from {@link System#nanoTime()}
+     * @return the watch, or {@code null} if the watchdog is disabled
+     */
+    public @Nullable Watch start(final @NonNull CommandContext<?> context, final long start) {
+        final @Nullable Duration threshold = this.settings.threshold();
+        if (threshold == null) {
+            return null;
+        }
+        final @Nullable SharedSuggestionProvider source = context.getOrDefault(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, null);
+        final @Nullable MinecraftServer server = source instanceof CommandSourceStack stack ? stack.getServer() : null;
+        final Watch watch = new Watch(Thread.currentThread(), start, threshold.toNanos(), server != null && server.isSameThread());
+        if (this.settings.stackFrames() > 0) {
+            watch.sample = Sampler.INSTANCE.schedule(watch::sample, watch.threshold, TimeUnit.NANOSECONDS);
+        }
+        return watch;
+    }
+
+    /**
+     * Stops watching a command, logging it if it exceeded the threshold.
+     *
+     * @param watch   watch returned by {@link #start(CommandContext, long)}
+     * @param context command context
+     * @param end     end timestamp, from {@link System#nanoTime()}
+     */
+    public void finish(final @NonNull Watch watch, final @NonNull CommandContext<?> context, final long end) {
+        if (watch.sample != null) {
+            watch.sample.cancel(false);
+        }
+        final long elapsed = end - watch.start;
+        if (elapsed < watch.threshold) {
+            return;
+        }
+
+        final @Nullable SharedSuggestionProvider source = context.getOrDefault(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER, null);
+        final String user = source instanceof CommandSourceStack stack ? stack.getTextName() : String.valueOf(source);
+        final String input = context.rawInput().input();
+        final String ticks;
+        if (watch.onServerThread) {
+            final MinecraftServer server = ((CommandSourceStack) source).getServer();
+            final long budget = server.tickRateManager().nanosecondsPerTick();
+            // the ticks delayed beyond the one the command started in
+            final long overrun = Math.ceilDiv(elapsed, budget) - 1;
+            ticks = elapsed > budget
+                ? "overran " + overrun + " tick(s), exceeding the " + TimeUnit.NANOSECONDS.toMillis(budget) + "ms tick budget by "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed - budget) + "ms"
+                : "stayed within the " + TimeUnit.NANOSECONDS.toMillis(budget) + "ms tick budget";
+        } else {
+            ticks = "ran off the server thread";
+        }
+        final StackTraceElement @Nullable [] stack = watch.stack;
+        if (stack == null) {
+            LOGGER.warn(
+                "Command '{}' for user {} took {}ms (threshold {}ms) and {}; arguments: [{}]",
+                CommandNames.rootCommand(input),
+                user,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                TimeUnit.NANOSECONDS.toMillis(watch.threshold),
+                ticks,
+                arguments(context)
+            );
+        } else {
+            LOGGER.warn(
+                "Command '{}' for user {} took {}ms (threshold {}ms) and {}; arguments: [{}]; {} was at:\n{}",
+                CommandNames.rootCommand(input),
+                user,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                TimeUnit.NANOSECONDS.toMillis(watch.threshold),
+                ticks,
+                arguments(context),
+                watch.thread.getName(),
+                Arrays.stream(stack)
+                    .limit(this.settings.stackFrames())
+                    .map(frame -> "\tat " + frame)
+                    .collect(Collectors.joining("\n"))
+            );
+        }
+    }
+
+    private static String arguments(final CommandContext<?> context) {
+        return context.argumentTimings().keySet().stream()
+            .filter(component -> component.type() != CommandComponent.ComponentType.LITERAL)
+            .map(component -> component.name() + "=" + context.optional(component.name()).map(SlowCommandWatchdog::abbreviate).orElse("?"))
+            .collect(Collectors.joining(", "));
+    }
+
+    private static String abbreviate(final Object value) {
+        final String string = String.valueOf(value);
+        return string.length() <= MAX_ARGUMENT_LENGTH ? string : string.substring(0, MAX_ARGUMENT_LENGTH) + "...";
+    }
+
+    /**
+     * A command being watched.
+     */
+    public static final class Watch {
+
+        private final Thread thread;
+        private final long start;
+        private final long threshold;
+        private final boolean onServerThread;
+        private volatile @Nullable ScheduledFuture<?> sample;
+        private volatile StackTraceElement @Nullable [] stack;
+
+        private Watch(final Thread thread, final long start, final long threshold, final boolean onServerThread) {
+            this.thread = thread;
+            this.start = start;
+            this.threshold = threshold;
+            this.onServerThread = onServerThread;
+        }
+
+        private void sample() {
+            this.stack = this.thread.getStackTrace();
+        }
+    }
+
+    private static final class Sampler {
+
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "cloud-slow-command-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // most samples are cancelled long before they are due, and would otherwise keep their watch queued until then
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
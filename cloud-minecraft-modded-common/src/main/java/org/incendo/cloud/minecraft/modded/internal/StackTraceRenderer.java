@@ -0,0 +1,125 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Renders bounded stack traces for display in chat.
+ *
+ * <p>Output follows {@link Throwable#printStackTrace()}, with frames shared with the enclosing trace folded, at most a
+ * fixed number of frames per throwable, and suppressed exceptions omitted. Results are cached per throwable identity.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class StackTraceRenderer {
+
+    private static final String INDENT = "    ";
+    private static final int MAX_CAUSES = 8;
+    // Throwable does not override equals/hashCode, so this is keyed by identity
+    private static final Map<Throwable, Rendered> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private StackTraceRenderer() {
+    }
+
+    /**
+     * Renders the stack trace of {@code throwable}.
+     *
+     * @param throwable the throwable
+     * @param maxFrames maximum number of frames rendered per throwable in the cause chain
+     * @return the rendered trace
+     */
+    public static @NonNull String render(final @NonNull Throwable throwable, final int maxFrames) {
+        final Rendered cached = CACHE.get(throwable);
+        if (cached != null && cached.maxFrames() == maxFrames) {
+            return cached.text();
+        }
+        final String text = renderUncached(throwable, maxFrames);
+        CACHE.put(throwable, new Rendered(maxFrames, text));
+        return text;
+    }
+
+    private static String renderUncached(final Throwable throwable, final int maxFrames) {
+        final StringBuilder builder = new StringBuilder(256);
+        final Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        builder.append(throwable);
+        appendFrames(builder, throwable.getStackTrace(), new StackTraceElement[0], maxFrames);
+        seen.add(throwable);
+
+        StackTraceElement[] enclosing = throwable.getStackTrace();
+        Throwable cause = throwable.getCause();
+        int depth = 0;
+        while (cause != null) {
+            if (!seen.add(cause)) {
+                builder.append("\n[CIRCULAR REFERENCE: ").append(cause).append(']');
+                break;
+            }
+            if (++depth > MAX_CAUSES) {
+                builder.append("\n... further causes omitted");
+                break;
+            }
+            builder.append("\nCaused by: ").append(cause);
+            final StackTraceElement[] trace = cause.getStackTrace();
+            appendFrames(builder, trace, enclosing, maxFrames);
+            enclosing = trace;
+            cause = cause.getCause();
+        }
+        return builder.toString();
+    }
+
+    private static void appendFrames(
+        final StringBuilder builder,
+        final StackTraceElement[] trace,
+        final StackTraceElement[] enclosing,
+        final int maxFrames
+    ) {
+        int unique = trace.length - 1;
+        int enclosingIndex = enclosing.length - 1;
+        while (unique >= 0 && enclosingIndex >= 0 && trace[unique].equals(enclosing[enclosingIndex])) {
+            unique--;
+            enclosingIndex--;
+        }
+        final int uniqueCount = unique + 1;
+        final int inCommon = trace.length - uniqueCount;
+
+        final int rendered = Math.min(uniqueCount, maxFrames);
+        for (int i = 0; i < rendered; i++) {
+            builder.append('\n').append(INDENT).append("at ").append(trace[i]);
+        }
+        if (rendered < uniqueCount) {
+            builder.append('\n').append(INDENT).append("... ").append(uniqueCount - rendered).append(" frames omitted");
+        }
+        if (inCommon != 0) {
+            builder.append('\n').append(INDENT).append("... ").append(inCommon).append(" more");
+        }
+    }
+
+    private record Rendered(int maxFrames, String text) {
+    }
+}
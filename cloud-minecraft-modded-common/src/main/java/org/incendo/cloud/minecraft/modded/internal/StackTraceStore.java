@@ -0,0 +1,87 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps the full stack traces of recently handled exceptions behind short ids, so they can be fetched on demand
+ * through {@code /cloudadmin stacktrace <id>} instead of being embedded in every error message.
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class StackTraceStore {
+
+    private static final int CAPACITY = 64;
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final Map<String, String> TRACES = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return this.size() > CAPACITY;
+        }
+    });
+    private static final Map<Throwable, String> IDS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private StackTraceStore() {
+    }
+
+    /**
+     * Stores the full stack trace of {@code throwable}, returning its id.
+     *
+     * <p>Storing the same throwable again returns the existing id while it is still retained.</p>
+     *
+     * @param throwable the throwable
+     * @return the id of the stored trace
+     */
+    public static @NonNull String store(final @NonNull Throwable throwable) {
+        final String existing = IDS.get(throwable);
+        if (existing != null && TRACES.containsKey(existing)) {
+            return existing;
+        }
+        final String id = Integer.toString(NEXT_ID.incrementAndGet() & Integer.MAX_VALUE, Character.MAX_RADIX);
+        final StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        TRACES.put(id, writer.toString().replace("\t", "    "));
+        IDS.put(throwable, id);
+        return id;
+    }
+
+    /**
+     * Returns the stored stack trace with the given id.
+     *
+     * @param id trace id
+     * @return the full stack trace, or {@code null} if it is unknown or has been evicted
+     */
+    public static @Nullable String get(final @NonNull String id) {
+        return TRACES.get(id);
+    }
+}
@@ -0,0 +1,129 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.minecraft.modded.internal;
+
+import com.mojang.logging.LogUtils;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * An executor that queues tasks and runs them on the server thread at the end of each tick, within a time budget.
+ *
+ * <p>The budget is measured from the start of the tick's task processing, which all executors share, so several
+ * executors together take no longer than the largest of their budgets. Executors take turns at running first. At least
+ * one task per executor is run per tick, so a budget smaller than a single task still makes progress. The platform
+ * entrypoints call {@link #tickAll()} at the end of every server tick and {@link #flushAll()} when the server stops.</p>
+ */
+@API(status = API.Status.INTERNAL, consumers = "org.incendo.cloud.*")
+public final class TickBudgetExecutor implements Executor {
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Set<TickBudgetExecutor> INSTANCES = Collections.synchronizedSet(
+        Collections.newSetFromMap(new WeakHashMap<>())
+    );
+
+    // Only accessed by the server thread
+    private static int rotation;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final long budgetNanos;
+
+    /**
+     * Creates a new executor.
+     *
+     * @param budgetNanos time budget per tick in nanoseconds
+     */
+    public TickBudgetExecutor(final long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        INSTANCES.add(this);
+    }
+
+    @Override
+    public void execute(final @NonNull Runnable command) {
+        this.tasks.add(command);
+    }
+
+    /**
+     * Returns the number of tasks waiting for a tick.
+     *
+     * @return the number of queued tasks
+     */
+    public int queued() {
+        return this.tasks.size();
+    }
+
+    /**
+     * Runs queued tasks on every executor until the budget of this tick is used up.
+     */
+    public static void tickAll() {
+        final List<TickBudgetExecutor> executors = snapshot();
+        if (executors.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final int first = Math.floorMod(rotation++, executors.size());
+        for (int i = 0; i < executors.size(); i++) {
+            final TickBudgetExecutor executor = executors.get((first + i) % executors.size());
+            executor.drain(start, executor.budgetNanos);
+        }
+    }
+
+    /**
+     * Runs all queued tasks on every executor, ignoring budgets.
+     */
+    public static void flushAll() {
+        for (final TickBudgetExecutor executor : snapshot()) {
+            executor.drain(System.nanoTime(), Long.MAX_VALUE);
+        }
+    }
+
+    private static List<TickBudgetExecutor> snapshot() {
+        synchronized (INSTANCES) {
+            return List.copyOf(INSTANCES);
+        }
+    }
+
+    private void drain(final long start, final long budget) {
+        @Nullable Runnable task;
+        while ((task = this.tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (final Throwable throwable) {
+                LOGGER.error("Uncaught exception in tick-aligned command task", throwable);
+            }
+            if (System.nanoTime() - start >= budget) {
+                return;
+            }
+        }
+    }
+}
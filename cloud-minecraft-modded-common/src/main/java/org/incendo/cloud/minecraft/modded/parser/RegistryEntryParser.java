@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Set;
 import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -41,6 +42,7 @@ import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.exception.parsing.ParserException;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.internal.SharedSuggestionCache;
 import org.incendo.cloud.parser.ArgumentParseResult;
 import org.incendo.cloud.parser.ArgumentParser;
 import org.incendo.cloud.parser.ParserDescriptor;
@@ -54,7 +56,8 @@ import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
  * @param <C> the command sender type
  * @param <V> the registry entry type
  */
-public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, BlockingSuggestionProvider.Strings<C> {
+public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, BlockingSuggestionProvider.Strings<C>,
+    SenderIndependentSuggestions {
 
     private static final String NAMESPACE_MINECRAFT = "minecraft";
 
@@ -154,16 +157,23 @@ public final class RegistryEntryParser<C, V> implements ArgumentParser<C, V>, Bl
         final @NonNull CommandContext<C> commandContext,
         final @NonNull CommandInput input
     ) {
-        final Set<ResourceLocation> ids = this.resolveRegistry(commandContext).keySet();
-        final List<String> results = new ArrayList<>(ids.size());
-        for (final ResourceLocation entry : ids) {
-            if (entry.getNamespace().equals(NAMESPACE_MINECRAFT)) {
-                results.add(entry.getPath());
+        final RegistryAccess registryAccess = commandContext.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER).registryAccess();
+        // The suggestions do not depend on the input, so all inputs share one cache entry
+        return SharedSuggestionCache.suggestions(this, "", registryAccess, () -> {
+            final Registry<V> registry = registryAccess.registry(this.registryIdent).orElse(null);
+            if (registry == null) {
+                return List.of();
             }
-            results.add(entry.toString());
-        }
-
-        return results;
+            final Set<ResourceLocation> ids = registry.keySet();
+            final List<String> results = new ArrayList<>(ids.size());
+            for (final ResourceLocation entry : ids) {
+                if (entry.getNamespace().equals(NAMESPACE_MINECRAFT)) {
+                    results.add(entry.getPath());
+                }
+                results.add(entry.toString());
+            }
+            return results;
+        });
     }
 
     /**
@@ -24,19 +24,25 @@
 package org.incendo.cloud.minecraft.modded.parser;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.caption.CaptionVariable;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.context.CommandInput;
 import org.incendo.cloud.exception.parsing.ParserException;
+import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.minecraft.modded.ModdedCommandContextKeys;
 import org.incendo.cloud.minecraft.modded.caption.ModdedCaptionKeys;
+import org.incendo.cloud.minecraft.modded.internal.ScoreboardAccess;
 import org.incendo.cloud.parser.ArgumentParseResult;
 import org.incendo.cloud.parser.ArgumentParser;
 import org.incendo.cloud.parser.ParserDescriptor;
@@ -50,6 +56,8 @@ import org.incendo.cloud.suggestion.BlockingSuggestionProvider;
 public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTeam> implements
     BlockingSuggestionProvider.Strings<C> {
 
+    private static final CloudKey<Scoreboard> SCOREBOARD = CloudKey.of("cloud:team-parser-scoreboard", Scoreboard.class);
+
     /**
      * Creates a new server parser.
      *
@@ -75,7 +83,38 @@ public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTe
         final @NonNull CommandContext<C> commandContext,
         final @NonNull CommandInput input
     ) {
-        return new ArrayList<>(commandContext.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER).getAllTeams());
+        final List<String> teams = ((ScoreboardAccess) scoreboard(commandContext)).teamNamesSnapshot();
+        final String prefix = input.peekString().toLowerCase(Locale.ROOT);
+        if (prefix.isEmpty()) {
+            return teams;
+        }
+        final List<String> matching = new ArrayList<>();
+        for (final String team : teams) {
+            if (team.toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                matching.add(team);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Returns the scoreboard of the sender's side, resolved once per command context.
+     *
+     * @param context command context
+     * @return the scoreboard
+     */
+    private static Scoreboard scoreboard(final CommandContext<?> context) {
+        return context.computeIfAbsent(SCOREBOARD, key -> {
+            final SharedSuggestionProvider source = context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
+            if (!VanillaArgumentParsers.isClientSource(source)) {
+                return ((CommandSourceStack) source).getServer().getScoreboard();
+            }
+            final ClientPacketListener connection = Minecraft.getInstance().getConnection();
+            if (connection == null) {
+                throw new IllegalStateException();
+            }
+            return connection.getLevel().getScoreboard();
+        });
     }
 
     @Override
@@ -88,15 +127,7 @@ public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTe
         final @NonNull CommandContext<C> context,
         final @NonNull String value
     ) {
-        final ClientPacketListener connection = Minecraft.getInstance().getConnection();
-        if (connection == null) {
-            throw new IllegalStateException();
-        }
-        final PlayerTeam result = connection.getLevel().getScoreboard().getPlayerTeam(value);
-        if (result == null) {
-            return ArgumentParseResult.failureFuture(new UnknownTeamException(context, value));
-        }
-        return ArgumentParseResult.successFuture(result);
+        return resolve(context, value);
     }
 
     @Override
@@ -104,8 +135,13 @@ public final class TeamParser<C> extends SidedArgumentParser<C, String, PlayerTe
         final @NonNull CommandContext<C> context,
         final @NonNull String value
     ) {
+        // The live scoreboard is only safe to read on the server thread
         final CommandSourceStack source = (CommandSourceStack) context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
-        final PlayerTeam result = source.getLevel().getScoreboard().getPlayerTeam(value);
+        return VanillaArgumentParsers.onServerThread(source.getServer(), () -> resolve(context, value));
+    }
+
+    private static CompletableFuture<ArgumentParseResult<PlayerTeam>> resolve(final CommandContext<?> context, final String value) {
+        final PlayerTeam result = scoreboard(context).getPlayerTeam(value);
         if (result == null) {
             return ArgumentParseResult.failureFuture(new UnknownTeamException(context, value));
         }
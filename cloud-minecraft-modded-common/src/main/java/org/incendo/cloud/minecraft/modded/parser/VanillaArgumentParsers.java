@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.SharedSuggestionProvider;
@@ -45,6 +46,7 @@ import net.minecraft.commands.arguments.item.ItemInput;
 import net.minecraft.commands.arguments.selector.EntitySelector;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.phys.Vec3;
@@ -198,7 +200,6 @@ public final class VanillaArgumentParsers {
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new SinglePlayerSelectorImpl(
-                        ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
                         entitySelector.findSinglePlayer(serverCommandSource)
                     ))
@@ -220,7 +221,6 @@ public final class VanillaArgumentParsers {
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new MultiplePlayerSelectorImpl(
-                        ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
                         entitySelector.findPlayers(serverCommandSource)
                     ))
@@ -242,7 +242,6 @@ public final class VanillaArgumentParsers {
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new SingleEntitySelectorImpl(
-                        ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
                         entitySelector.findSingleEntity(serverCommandSource)
                     ))
@@ -264,7 +263,6 @@ public final class VanillaArgumentParsers {
                 ctx,
                 serverCommandSource -> handleCommandSyntaxExceptionAsFailure(
                     () -> ArgumentParseResult.success(new MultipleEntitySelectorImpl(
-                        ((EntitySelectorAccess) entitySelector).inputString(),
                         entitySelector,
                         Collections.unmodifiableCollection(entitySelector.findEntities(serverCommandSource))
                     ))
@@ -321,10 +319,32 @@ public final class VanillaArgumentParsers {
         final @NonNull Function<CommandSourceStack, CompletableFuture<ArgumentParseResult<O>>> resultFunction
     ) {
         final SharedSuggestionProvider nativeSource = context.get(ModdedCommandContextKeys.SHARED_SUGGESTION_PROVIDER);
-        if (!(nativeSource instanceof CommandSourceStack) || isClientSource(nativeSource)) {
+        if (!(nativeSource instanceof CommandSourceStack source) || isClientSource(nativeSource)) {
             return ArgumentParseResult.failureFuture(serverOnly());
         }
-        return resultFunction.apply((CommandSourceStack) nativeSource);
+        // Resolving selectors and messages reads world state
+        return onServerThread(source.getServer(), () -> resultFunction.apply(source));
+    }
+
+    /**
+     * Resolves a parse result on the server thread, which is the only thread that may safely read world state.
+     *
+     * <p>When already on the server thread the result is resolved immediately, otherwise parsing continues once the
+     * server has resolved it.</p>
+     *
+     * @param server         server
+     * @param resultSupplier result resolution
+     * @param <O>            result type
+     * @return the result
+     */
+    static <O> @NonNull CompletableFuture<ArgumentParseResult<O>> onServerThread(
+        final @NonNull MinecraftServer server,
+        final @NonNull Supplier<CompletableFuture<ArgumentParseResult<O>>> resultSupplier
+    ) {
+        if (server.isSameThread()) {
+            return resultSupplier.get();
+        }
+        return CompletableFuture.supplyAsync(resultSupplier, server).thenCompose(Function.identity());
     }
 
     /**
@@ -395,19 +415,39 @@ public final class VanillaArgumentParsers {
     }
 
     private record SingleEntitySelectorImpl(
-        String inputString, EntitySelector selector, Entity single
-    ) implements SingleEntitySelector {}
+        EntitySelector selector, Entity single
+    ) implements SingleEntitySelector {
+        @Override
+        public String inputString() {
+            return ((EntitySelectorAccess) this.selector).inputString();
+        }
+    }
 
     private record MultipleEntitySelectorImpl(
-        String inputString, EntitySelector selector, Collection<Entity> values
-    ) implements MultipleEntitySelector {}
+        EntitySelector selector, Collection<Entity> values
+    ) implements MultipleEntitySelector {
+        @Override
+        public String inputString() {
+            return ((EntitySelectorAccess) this.selector).inputString();
+        }
+    }
 
     private record SinglePlayerSelectorImpl(
-        String inputString, EntitySelector selector, ServerPlayer single
-    ) implements SinglePlayerSelector {}
+        EntitySelector selector, ServerPlayer single
+    ) implements SinglePlayerSelector {
+        @Override
+        public String inputString() {
+            return ((EntitySelectorAccess) this.selector).inputString();
+        }
+    }
 
     private record MultiplePlayerSelectorImpl(
-        String inputString, EntitySelector selector, Collection<ServerPlayer> values
-    ) implements MultiplePlayerSelector {}
+        EntitySelector selector, Collection<ServerPlayer> values
+    ) implements MultiplePlayerSelector {
+        @Override
+        public String inputString() {
+            return ((EntitySelectorAccess) this.selector).inputString();
+        }
+    }
 
 }
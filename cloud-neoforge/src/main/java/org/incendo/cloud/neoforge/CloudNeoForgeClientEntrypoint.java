@@ -0,0 +1,52 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.neoforge;
+
+import net.minecraft.client.Minecraft;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.fml.common.Mod;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import org.apiguardian.api.API;
+import org.incendo.cloud.minecraft.modded.internal.ClientStateSnapshot;
+import org.incendo.cloud.minecraft.modded.internal.SharedSuggestionCache;
+
+@API(status = API.Status.INTERNAL)
+@Mod(value = "cloud", dist = Dist.CLIENT)
+@SuppressWarnings("checkstyle:HideUtilityClassConstructor")
+public final class CloudNeoForgeClientEntrypoint {
+
+    /**
+     * Creates a {@link CloudNeoForgeClientEntrypoint}.
+     */
+    public CloudNeoForgeClientEntrypoint() {
+        NeoForge.EVENT_BUS.addListener((ClientTickEvent.Post event) -> ClientStateSnapshot.update(Minecraft.getInstance()));
+        NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingIn event) -> ClientStateSnapshot.update(Minecraft.getInstance()));
+        NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingOut event) -> {
+            ClientStateSnapshot.invalidate();
+            SharedSuggestionCache.invalidateAll();
+        });
+    }
+}
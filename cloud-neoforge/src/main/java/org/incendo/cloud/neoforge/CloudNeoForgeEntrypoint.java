@@ -33,7 +33,13 @@ import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.OnDatapackSyncEvent;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.server.permission.PermissionAPI;
 import net.neoforged.neoforge.server.permission.events.PermissionGatherEvent;
 import net.neoforged.neoforge.server.permission.nodes.PermissionDynamicContext;
 import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
@@ -43,6 +49,9 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.internal.CommandNode;
+import org.incendo.cloud.minecraft.modded.internal.ModdedAdminCommand;
+import org.incendo.cloud.minecraft.modded.internal.SharedSuggestionCache;
+import org.incendo.cloud.minecraft.modded.internal.TickBudgetExecutor;
 import org.incendo.cloud.permission.AndPermission;
 import org.incendo.cloud.permission.OrPermission;
 import org.incendo.cloud.permission.Permission;
@@ -54,6 +63,20 @@ import static org.incendo.cloud.parser.standard.StringParser.greedyStringParser;
 @Mod("cloud")
 @SuppressWarnings("checkstyle:HideUtilityClassConstructor")
 public final class CloudNeoForgeEntrypoint {
+    private static final PermissionNode<Boolean> HOVER_STACKTRACE = new PermissionNode<>(
+        "cloud",
+        "hover-stacktrace",
+        PermissionTypes.BOOLEAN,
+        CloudNeoForgeEntrypoint::defaultPermissionHandler
+    );
+
+    private static final PermissionNode<Boolean> STATS = new PermissionNode<>(
+        "cloud",
+        "stats",
+        PermissionTypes.BOOLEAN,
+        CloudNeoForgeEntrypoint::defaultPermissionHandler
+    );
+
     private static boolean serverStartingCalled;
 
     /**
@@ -62,6 +85,17 @@ public final class CloudNeoForgeEntrypoint {
     public CloudNeoForgeEntrypoint() {
         NeoForge.EVENT_BUS.addListener(EventPriority.HIGHEST, (ServerStartingEvent event) -> serverStartingCalled = true);
         NeoForge.EVENT_BUS.addListener(EventPriority.LOW, CloudNeoForgeEntrypoint::registerPermissions);
+        NeoForge.EVENT_BUS.addListener((RegisterCommandsEvent event) ->
+            event.getDispatcher().register(ModdedAdminCommand.create(CloudNeoForgeEntrypoint::hasAdminPermission)));
+        NeoForge.EVENT_BUS.addListener((ServerTickEvent.Post event) -> TickBudgetExecutor.tickAll());
+        NeoForge.EVENT_BUS.addListener((ServerStoppingEvent event) -> TickBudgetExecutor.flushAll());
+        NeoForge.EVENT_BUS.addListener((ServerStoppedEvent event) -> SharedSuggestionCache.invalidateAll());
+        NeoForge.EVENT_BUS.addListener((OnDatapackSyncEvent event) -> {
+            // Fired without a player once datapacks were reloaded, and with a player when one joins
+            if (event.getPlayer() == null) {
+                SharedSuggestionCache.invalidateAll();
+            }
+        });
 
         if (Boolean.getBoolean("cloud.test_commands")) {
             testServerManager();
@@ -79,12 +113,7 @@ public final class CloudNeoForgeEntrypoint {
     }
 
     private static void registerPermissions(final PermissionGatherEvent.Nodes event) {
-        event.addNodes(new PermissionNode<>(
-            "cloud",
-            "hover-stacktrace",
-            PermissionTypes.BOOLEAN,
-            CloudNeoForgeEntrypoint::defaultPermissionHandler
-        ));
+        event.addNodes(HOVER_STACKTRACE, STATS);
         for (final NeoForgeCommandManager<?> manager : NeoForgeServerCommandManager.INSTANCES) {
             registerPermissionsForManager(event, manager);
         }
@@ -133,6 +162,20 @@ public final class CloudNeoForgeEntrypoint {
         }
     }
 
+    private static boolean hasAdminPermission(final CommandSourceStack source, final String permission) {
+        final @Nullable ServerPlayer player = source.getPlayer();
+        if (player == null) {
+            return source.hasPermission(source.getServer().getOperatorUserPermissionLevel());
+        }
+        if (permission.equals(ModdedAdminCommand.HOVER_STACKTRACE_PERMISSION)) {
+            return PermissionAPI.getPermission(player, HOVER_STACKTRACE);
+        }
+        if (permission.equals(ModdedAdminCommand.STATS_PERMISSION)) {
+            return PermissionAPI.getPermission(player, STATS);
+        }
+        return player.hasPermissions(player.server.getOperatorUserPermissionLevel());
+    }
+
     private static Boolean defaultPermissionHandler(
         final @Nullable ServerPlayer player,
         final UUID uuid,
@@ -38,11 +38,22 @@ import org.incendo.cloud.brigadier.suggestion.TooltipSuggestion;
 import org.incendo.cloud.execution.ExecutionCoordinator;
 import org.incendo.cloud.meta.CommandMeta;
 import org.incendo.cloud.meta.SimpleCommandMeta;
+import org.incendo.cloud.minecraft.modded.CommandAdmissionSettings;
+import org.incendo.cloud.minecraft.modded.CommandMetrics;
+import org.incendo.cloud.minecraft.modded.CommandTreeSettings;
+import org.incendo.cloud.minecraft.modded.ExceptionHandlerSettings;
+import org.incendo.cloud.minecraft.modded.SlowCommandSettings;
+import org.incendo.cloud.minecraft.modded.SuggestionMetrics;
+import org.incendo.cloud.minecraft.modded.SuggestionSettings;
 import org.incendo.cloud.minecraft.modded.caption.MinecraftCaptionFormatter;
 import org.incendo.cloud.minecraft.modded.caption.ModdedDefaultCaptionsProvider;
+import org.incendo.cloud.minecraft.modded.internal.AdmissionControlledCoordinator;
+import org.incendo.cloud.minecraft.modded.internal.AsyncSuggestionFactory;
+import org.incendo.cloud.minecraft.modded.internal.MeasuringCoordinator;
 import org.incendo.cloud.minecraft.modded.internal.ModdedExceptionHandler;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 import org.incendo.cloud.minecraft.modded.internal.ModdedPreprocessor;
+import org.incendo.cloud.minecraft.modded.internal.SourceKeys;
 import org.incendo.cloud.suggestion.SuggestionFactory;
 
 @DefaultQualifier(NonNull.class)
@@ -54,22 +65,65 @@ public abstract class NeoForgeCommandManager<C> extends CommandManager<C>
     private final SenderMapper<CommandSourceStack, C> senderMapper;
     private final CloudBrigadierManager<C, CommandSourceStack> brigadierManager;
     private final SuggestionFactory<C, ? extends TooltipSuggestion> suggestionFactory;
+    private final ExceptionHandlerSettings exceptionHandlerSettings = new ExceptionHandlerSettings();
+    private final CommandAdmissionSettings admissionSettings;
+    private final SuggestionSettings suggestionSettings = new SuggestionSettings();
+    private final CommandTreeSettings commandTreeSettings = new CommandTreeSettings();
+    private final SuggestionMetrics suggestionMetrics;
+    private final CommandMetrics commandMetrics;
+    private final SlowCommandSettings slowCommandSettings;
 
-    @SuppressWarnings("this-escape")
     protected NeoForgeCommandManager(
         final ExecutionCoordinator<C> executionCoordinator,
         final SenderMapper<CommandSourceStack, C> senderMapper,
         final NeoForgeCommandRegistrationHandler<C> registrationHandler
     ) {
-        super(executionCoordinator, registrationHandler);
+        this(
+            executionCoordinator,
+            senderMapper,
+            registrationHandler,
+            new CommandAdmissionSettings(),
+            new CommandMetrics(),
+            new SlowCommandSettings()
+        );
+    }
+
+    @SuppressWarnings("this-escape")
+    private NeoForgeCommandManager(
+        final ExecutionCoordinator<C> executionCoordinator,
+        final SenderMapper<CommandSourceStack, C> senderMapper,
+        final NeoForgeCommandRegistrationHandler<C> registrationHandler,
+        final CommandAdmissionSettings admissionSettings,
+        final CommandMetrics commandMetrics,
+        final SlowCommandSettings slowCommandSettings
+    ) {
+        super(
+            new AdmissionControlledCoordinator<>(
+                new MeasuringCoordinator<>(executionCoordinator, commandMetrics, slowCommandSettings),
+                senderMapper,
+                admissionSettings
+            ),
+            registrationHandler
+        );
         INSTANCES.add(this);
+        this.admissionSettings = admissionSettings;
+        this.commandMetrics = commandMetrics;
+        this.slowCommandSettings = slowCommandSettings;
+        commandMetrics.attach(this.getClass().getSimpleName());
         this.senderMapper = senderMapper;
-        this.suggestionFactory = super.suggestionFactory().mapped(TooltipSuggestion::tooltipSuggestion);
+        final AsyncSuggestionFactory<C, ?> asyncSuggestionFactory = AsyncSuggestionFactory.wrap(
+            super.suggestionFactory(),
+            context -> SourceKeys.entityId(ModdedPreprocessor.nativeSource(context, senderMapper)),
+            this.suggestionSettings
+        );
+        this.suggestionMetrics = asyncSuggestionFactory;
+        this.suggestionFactory = asyncSuggestionFactory.mapped(TooltipSuggestion::tooltipSuggestion);
         this.brigadierManager = new CloudBrigadierManager<>(this, senderMapper);
-        ModdedExceptionHandler.registerDefaults(this, new MinecraftCaptionFormatter<>());
+        ModdedExceptionHandler.registerDefaults(this, new MinecraftCaptionFormatter<>(), this.exceptionHandlerSettings);
         registrationHandler.initialize(this);
         this.captionRegistry().registerProvider(new ModdedDefaultCaptionsProvider<>());
         this.registerCommandPreProcessor(new ModdedPreprocessor<>(senderMapper));
+        this.registerCommandPostProcessor(MeasuringCoordinator.postprocessor());
 
         ModdedParserMappings.register(this, this.brigadierManager);
     }
@@ -99,6 +153,70 @@ public abstract class NeoForgeCommandManager<C> extends CommandManager<C>
         return this.suggestionFactory;
     }
 
+    /**
+     * Returns the settings used by the default exception handlers of this manager.
+     *
+     * @return the exception handler settings
+     */
+    public final ExceptionHandlerSettings exceptionHandlerSettings() {
+        return this.exceptionHandlerSettings;
+    }
+
+    /**
+     * Returns the per-entity command admission limits of this manager.
+     *
+     * @return the admission settings
+     */
+    public final CommandAdmissionSettings admissionSettings() {
+        return this.admissionSettings;
+    }
+
+    /**
+     * Returns the settings for how suggestions are computed for Brigadier tab completion.
+     *
+     * @return the suggestion settings
+     */
+    public final SuggestionSettings suggestionSettings() {
+        return this.suggestionSettings;
+    }
+
+    /**
+     * Returns counters for the asynchronous suggestion requests handled by this manager, including how many were
+     * superseded by newer requests.
+     *
+     * @return the suggestion metrics
+     */
+    public final SuggestionMetrics suggestionMetrics() {
+        return this.suggestionMetrics;
+    }
+
+    /**
+     * Returns the parse, suggestion, execution and permission check latencies recorded by this manager.
+     *
+     * @return the command metrics
+     */
+    public final CommandMetrics commandMetrics() {
+        return this.commandMetrics;
+    }
+
+    /**
+     * Returns the settings of the watchdog reporting slow command handlers.
+     *
+     * @return the slow command settings
+     */
+    public final SlowCommandSettings slowCommandSettings() {
+        return this.slowCommandSettings;
+    }
+
+    /**
+     * Returns the settings for how commands are sent to players in the command tree packet.
+     *
+     * @return the command tree settings
+     */
+    public final CommandTreeSettings commandTreeSettings() {
+        return this.commandTreeSettings;
+    }
+
     final void registrationCalled() {
         this.lockRegistration();
     }
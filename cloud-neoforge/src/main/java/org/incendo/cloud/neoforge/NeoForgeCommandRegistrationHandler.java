@@ -26,26 +26,39 @@ package org.incendo.cloud.neoforge;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
 import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.server.MinecraftServer;
 import net.neoforged.neoforge.client.ClientCommandHandler;
 import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
 import net.neoforged.neoforge.client.event.RegisterClientCommandsEvent;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.brigadier.CloudBrigadierCommand;
 import org.incendo.cloud.component.CommandComponent;
 import org.incendo.cloud.internal.CommandRegistrationHandler;
 import org.incendo.cloud.minecraft.modded.ModdedCommandMetaKeys;
+import org.incendo.cloud.minecraft.modded.internal.CommandRootNodeCache;
+import org.incendo.cloud.minecraft.modded.internal.CommandTracing;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeCache;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeHooks;
 import org.incendo.cloud.minecraft.modded.internal.ContextualArgumentTypeProvider;
+import org.incendo.cloud.minecraft.modded.internal.LazyLiteralCommandNode;
+import org.incendo.cloud.minecraft.modded.internal.LiveCommandUpdates;
 
 import static org.incendo.cloud.brigadier.util.BrigadierUtil.buildRedirect;
 
@@ -68,94 +81,227 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
         return this.commandManager;
     }
 
-    @SuppressWarnings("unchecked")
     protected final void registerCommand(final Command<C> command, final CommandDispatcher<CommandSourceStack> dispatcher) {
-        final RootCommandNode<CommandSourceStack> rootNode = dispatcher.getRoot();
+        this.registerCommand(command, dispatcher.getRoot());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final void registerCommand(final Command<C> command, final RootCommandNode<CommandSourceStack> rootNode) {
         final CommandComponent<C> first = command.rootComponent();
-        final CommandNode<CommandSourceStack> baseNode = this.commandManager()
+        final @Nullable CommandNode<CommandSourceStack> existing = rootNode.getChild(first.name());
+        if (existing instanceof LazyLiteralCommandNode<CommandSourceStack> lazyNode && !lazyNode.materialized()) {
+            /* The subtree is built from the command tree when first used, so it will include this command */
+            return;
+        }
+        final CloudBrigadierCommand<C, CommandSourceStack> executor =
+            new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager());
+        final Supplier<CommandNode<CommandSourceStack>> builder = () -> this.commandManager()
             .brigadierManager()
             .literalBrigadierNodeFactory()
-            .createNode(
-                first.name(),
-                command,
-                new CloudBrigadierCommand<>(this.commandManager(), this.commandManager().brigadierManager())
-            );
+            .createNode(first.name(), command, executor);
 
+        final @Nullable LazyLiteralCommandNode<CommandSourceStack> lazyNode = existing != null ? null : LazyLiteralCommandNode.forRoot(
+            this.commandManager(),
+            this.commandManager().senderMapper(),
+            this.commandManager().commandTreeSettings(),
+            first.name(),
+            executor,
+            builder
+        );
+        if (lazyNode != null) {
+            rootNode.addChild(lazyNode);
+            this.rootCreated(lazyNode);
+            for (final String alias : first.alternativeAliases()) {
+                this.addAlias(rootNode, LazyLiteralCommandNode.redirect(alias, lazyNode));
+            }
+            return;
+        }
+
+        final CommandNode<CommandSourceStack> baseNode = builder.get();
         rootNode.addChild(baseNode);
+        if (existing == null) {
+            this.rootCreated(baseNode);
+        }
 
         for (final String alias : first.alternativeAliases()) {
-            rootNode.addChild(buildRedirect(alias, baseNode));
+            this.addAlias(rootNode, buildRedirect(alias, baseNode));
+        }
+    }
+
+    private void addAlias(final RootCommandNode<CommandSourceStack> rootNode, final CommandNode<CommandSourceStack> aliasNode) {
+        final boolean created = rootNode.getChild(aliasNode.getName()) == null;
+        rootNode.addChild(CommandTreeHooks.alias(aliasNode, this.commandManager().commandTreeSettings()));
+        if (created) {
+            this.aliasCreated(aliasNode);
         }
     }
 
+    /**
+     * Called when a root command node was added to a dispatcher without being merged into an existing node.
+     *
+     * @param node root command node
+     */
+    void rootCreated(final CommandNode<CommandSourceStack> node) {
+    }
+
+    /**
+     * Called when an alias node was added to a dispatcher without being merged into an existing node.
+     *
+     * @param node alias node
+     */
+    void aliasCreated(final CommandNode<CommandSourceStack> node) {
+    }
+
     static class Client<C> extends NeoForgeCommandRegistrationHandler<C> {
 
         private final Set<Command<C>> registeredCommands = ConcurrentHashMap.newKeySet();
-        private volatile boolean registerEventFired = false;
+        private final Set<Command<C>> pendingCommands = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean pendingScheduled = new AtomicBoolean();
+        private final CommandRootNodeCache<CommandSourceStack> rootNodes = new CommandRootNodeCache<>();
+        private volatile @Nullable CommandBuildContext buildContext;
 
         @Override
         void initialize(final NeoForgeCommandManager<C> manager) {
             super.initialize(manager);
             NeoForge.EVENT_BUS.addListener(this::registerCommands);
-            NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingOut event) -> this.registerEventFired = false);
+            NeoForge.EVENT_BUS.addListener((ClientPlayerNetworkEvent.LoggingOut event) -> {
+                this.buildContext = null;
+                this.pendingCommands.clear();
+            });
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public boolean registerCommand(final @NonNull Command<C> command) {
             this.registeredCommands.add(command);
-            if (this.registerEventFired) {
-                final ClientPacketListener connection = Minecraft.getInstance().getConnection();
-                if (connection == null) {
-                    throw new IllegalStateException("Expected connection to be present but it wasn't!");
-                }
-                final CommandDispatcher<CommandSourceStack> dispatcher = ClientCommandHandler.getDispatcher();
-                if (dispatcher == null) {
-                    throw new IllegalStateException("Expected an active dispatcher!");
+            /* The cached nodes of the root no longer include every command */
+            this.rootNodes.invalidate(command.rootComponent().name());
+            if (this.buildContext != null) {
+                /* Commands registered while connected are added to the active dispatcher together on the next tick */
+                this.pendingCommands.add(command);
+                if (this.pendingScheduled.compareAndSet(false, true)) {
+                    Minecraft.getInstance().tell(this::registerPendingCommands);
                 }
-                ContextualArgumentTypeProvider.withBuildContext(
-                    this.commandManager(),
-                    CommandBuildContext.simple(connection.registryAccess(), connection.enabledFeatures()),
-                    false,
-                    () -> this.registerCommand(command, dispatcher)
-                );
             }
             return true;
         }
 
         public void registerCommands(final RegisterClientCommandsEvent event) {
-            this.registerEventFired = true;
+            this.buildContext = event.getBuildContext();
+            this.pendingCommands.clear();
+            final ClientPacketListener connection = Minecraft.getInstance().getConnection();
+            final boolean registriesChanged = this.rootNodes.registryAccess(connection == null ? null : connection.registryAccess());
+            final CommandTracing.TreeRegistrationEvent trace = CommandTracing.beginTreeRegistration();
             ContextualArgumentTypeProvider.withBuildContext(
                 this.commandManager(),
                 event.getBuildContext(),
-                true,
+                registriesChanged,
+                () -> CommandRootNodeCache.byRoot(this.registeredCommands).forEach((name, commands) -> this.rootNodes.addRoot(
+                    event.getDispatcher().getRoot(),
+                    name,
+                    root -> commands.forEach(command -> this.registerCommand(command, root))
+                ))
+            );
+            CommandTracing.endTreeRegistration(trace, this.commandManager(), "client", this.registeredCommands.size());
+        }
+
+        private void registerPendingCommands() {
+            this.pendingScheduled.set(false);
+            final List<Command<C>> commands = new ArrayList<>(this.pendingCommands);
+            this.pendingCommands.removeAll(commands);
+            final @Nullable CommandBuildContext buildContext = this.buildContext;
+            final @Nullable CommandDispatcher<CommandSourceStack> dispatcher = ClientCommandHandler.getDispatcher();
+            if (commands.isEmpty() || buildContext == null || dispatcher == null) {
+                /* Disconnected in the meantime, the commands are registered with the next dispatcher */
+                return;
+            }
+            final CommandTracing.TreeRegistrationEvent trace = CommandTracing.beginTreeRegistration();
+            ContextualArgumentTypeProvider.withBuildContext(
+                this.commandManager(),
+                buildContext,
+                false,
                 () -> {
-                    for (final Command<C> command : this.registeredCommands) {
-                        this.registerCommand(command, event.getDispatcher());
+                    for (final Command<C> command : commands) {
+                        this.registerCommand(command, dispatcher);
                     }
                 }
             );
+            CommandTracing.endTreeRegistration(trace, this.commandManager(), "client", commands.size());
         }
     }
 
     static class Server<C> extends NeoForgeCommandRegistrationHandler<C> {
 
         private final Set<Command<C>> registeredCommands = ConcurrentHashMap.newKeySet();
+        private final LiveCommandUpdates liveUpdates = new LiveCommandUpdates();
+        private @MonotonicNonNull CommandTreeCache<C> treeCache;
 
         @Override
         void initialize(final NeoForgeCommandManager<C> manager) {
             super.initialize(manager);
+            this.treeCache = new CommandTreeCache<>(manager, manager.senderMapper(), manager.commandTreeSettings());
             NeoForge.EVENT_BUS.addListener(this::registerAllCommands);
         }
 
         @Override
-        @SuppressWarnings("unchecked")
+        void rootCreated(final CommandNode<CommandSourceStack> node) {
+            this.treeCache.created(node);
+            this.liveUpdates.created(node);
+        }
+
+        @Override
+        void aliasCreated(final CommandNode<CommandSourceStack> node) {
+            this.liveUpdates.created(node);
+        }
+
+        @Override
         public boolean registerCommand(final @NonNull Command<C> command) {
-            return this.registeredCommands.add(command);
+            if (!this.registeredCommands.add(command)) {
+                return false;
+            }
+            final @Nullable MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            if (server != null) {
+                /* The dispatcher was already built, so the command is added to it directly */
+                server.execute(() -> this.registerLiveCommand(server, command));
+            }
+            return true;
+        }
+
+        @Override
+        public void unregisterRootCommand(final @NonNull CommandComponent<C> rootCommand) {
+            this.registeredCommands.removeIf(command -> command.rootComponent().name().equals(rootCommand.name()));
+            final @Nullable MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            if (server != null) {
+                server.execute(() -> {
+                    this.liveUpdates.removeRootCommand(server.getCommands().getDispatcher().getRoot(), rootCommand);
+                    this.treeCache.invalidate();
+                    this.liveUpdates.resendCommands(server);
+                });
+            }
+        }
+
+        private void registerLiveCommand(final MinecraftServer server, final Command<C> command) {
+            final Commands.CommandSelection env = command.commandMeta().getOrDefault(
+                ModdedCommandMetaKeys.REGISTRATION_ENVIRONMENT,
+                Commands.CommandSelection.ALL
+            );
+            if (!this.registeredCommands.contains(command) || !LiveCommandUpdates.includes(server, env)) {
+                return;
+            }
+            final RootCommandNode<CommandSourceStack> root = server.getCommands().getDispatcher().getRoot();
+            ContextualArgumentTypeProvider.withBuildContext(
+                this.commandManager(),
+                CommandBuildContext.simple(server.registryAccess(), server.getWorldData().enabledFeatures()),
+                false,
+                () -> this.registerCommand(command, root)
+            );
+            this.treeCache.register(root, List.of(command));
+            this.liveUpdates.resendCommands(server);
         }
 
         private void registerAllCommands(final RegisterCommandsEvent event) {
             this.commandManager().registrationCalled();
+            this.treeCache.clear();
+            final CommandTracing.TreeRegistrationEvent trace = CommandTracing.beginTreeRegistration();
             ContextualArgumentTypeProvider.withBuildContext(
                 this.commandManager(),
                 event.getBuildContext(),
@@ -176,6 +322,8 @@ abstract class NeoForgeCommandRegistrationHandler<C> implements CommandRegistrat
                     }
                 }
             );
+            this.treeCache.register(event.getDispatcher().getRoot(), this.registeredCommands);
+            CommandTracing.endTreeRegistration(trace, this.commandManager(), "server", this.registeredCommands.size());
         }
     }
 }
@@ -32,8 +32,11 @@ import net.neoforged.neoforge.server.permission.PermissionAPI;
 import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
 import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.CloudCapability;
 import org.incendo.cloud.SenderMapper;
 import org.incendo.cloud.execution.ExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.ModdedExecutionCoordinator;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeHooks;
 import org.incendo.cloud.minecraft.modded.internal.ModdedParserMappings;
 
 public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManager<C> {
@@ -56,7 +59,9 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
     /**
      * Create a new command manager instance.
      *
-     * @param executionCoordinator       Execution coordinator instance.
+     * @param executionCoordinator       Execution coordinator instance. Besides the coordinators provided by cloud,
+     *                                   {@link ModdedExecutionCoordinator#tickAligned()} and
+     *                                   {@link ModdedExecutionCoordinator#virtualThreads()} are available for servers.
      * @param senderMapper               Mapper between Minecraft's {@link CommandSourceStack} and the command sender type {@code C}.
      */
     public NeoForgeServerCommandManager(
@@ -74,6 +79,7 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
                 + "occurs before the server instance is created, commands should be registered in mod initializers.");
         }
 
+        this.registerCapability(CloudCapability.StandardCapabilities.ROOT_COMMAND_DELETION);
         ModdedParserMappings.registerServer(this);
     }
 
@@ -86,13 +92,20 @@ public final class NeoForgeServerCommandManager<C> extends NeoForgeCommandManage
      * @return {@code true} if the sender has the permission, else {@code false}
      * @throws PermissionNotRegisteredException if the permission is not registered to NeoForge
      */
-    @SuppressWarnings({"unchecked", "ReferenceEquality"})
     @Override
     public boolean hasPermission(final @NonNull C sender, final @NonNull String permission) {
         if (permission.isEmpty()) {
             return true;
         }
+        final long start = System.nanoTime();
         final CommandSourceStack source = this.senderMapper().reverse(sender);
+        final boolean granted = CommandTreeHooks.testPermission(source, permission, () -> this.checkPermission(source, permission));
+        this.commandMetrics().recordPermission(permission, System.nanoTime() - start, granted);
+        return granted;
+    }
+
+    @SuppressWarnings({"unchecked", "ReferenceEquality"})
+    private boolean checkPermission(final CommandSourceStack source, final String permission) {
         if (source.isPlayer()) {
             final PermissionNode<Boolean> node;
             try {
@@ -0,0 +1,73 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.neoforge.mixin;
+
+import com.mojang.brigadier.tree.CommandNode;
+import java.util.Map;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import org.incendo.cloud.minecraft.modded.internal.CommandTreeHooks;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+@Mixin(Commands.class)
+abstract class CommandsMixin {
+
+    @Shadow
+    protected abstract void fillUsableCommands(
+        CommandNode<CommandSourceStack> rootCommandSource,
+        CommandNode<SharedSuggestionProvider> rootSuggestion,
+        CommandSourceStack source,
+        Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> commandNodeToSuggestionNode
+    );
+
+    @Redirect(
+        method = "sendCommands",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/commands/Commands;fillUsableCommands(Lcom/mojang/brigadier/tree/CommandNode;"
+                + "Lcom/mojang/brigadier/tree/CommandNode;Lnet/minecraft/commands/CommandSourceStack;Ljava/util/Map;)V"
+        )
+    )
+    private void fillSentCommands(
+        final Commands commands,
+        final CommandNode<CommandSourceStack> rootCommandSource,
+        final CommandNode<SharedSuggestionProvider> rootSuggestion,
+        final CommandSourceStack source,
+        final Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> commandNodeToSuggestionNode
+    ) {
+        CommandTreeHooks.fillTree(rootCommandSource, rootSuggestion, source, commandNodeToSuggestionNode, this::fillUsableCommands);
+    }
+
+    @Redirect(
+        method = "fillUsableCommands",
+        at = @At(value = "INVOKE", target = "Lcom/mojang/brigadier/tree/CommandNode;canUse(Ljava/lang/Object;)Z", remap = false)
+    )
+    private boolean filterUsableCommand(final CommandNode<CommandSourceStack> node, final Object source) {
+        return CommandTreeHooks.sendToClient(node) && node.canUse((CommandSourceStack) source);
+    }
+}
@@ -48,7 +48,6 @@ abstract class EntitySelectorParserMixin {
     @Inject(method = "parse", at = @At("RETURN"))
     public void setInputString(final @NonNull CallbackInfoReturnable<EntitySelector> cir) {
         final EntitySelector selector = cir.getReturnValue();
-        final String inputString = this.reader.getString().substring(this.startPosition, this.reader.getCursor());
-        ((EntitySelectorAccess) selector).inputString(inputString);
+        ((EntitySelectorAccess) selector).inputString(this.reader.getString(), this.startPosition, this.reader.getCursor());
     }
 }
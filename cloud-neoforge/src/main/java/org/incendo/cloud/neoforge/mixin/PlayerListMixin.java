@@ -0,0 +1,53 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.neoforge.mixin;
+
+import java.util.List;
+import java.util.UUID;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.PlayerList;
+import org.incendo.cloud.minecraft.modded.internal.OffThreadAccessGuard;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+@Mixin(PlayerList.class)
+abstract class PlayerListMixin {
+
+    @Inject(method = "getPlayers", at = @At("HEAD"))
+    private void checkPlayersAccess(final CallbackInfoReturnable<List<ServerPlayer>> cir) {
+        OffThreadAccessGuard.check("PlayerList#getPlayers");
+    }
+
+    @Inject(method = "getPlayer", at = @At("HEAD"))
+    private void checkPlayerAccess(final UUID uuid, final CallbackInfoReturnable<ServerPlayer> cir) {
+        OffThreadAccessGuard.check("PlayerList#getPlayer");
+    }
+
+    @Inject(method = "getPlayerByName", at = @At("HEAD"))
+    private void checkPlayerByNameAccess(final String name, final CallbackInfoReturnable<ServerPlayer> cir) {
+        OffThreadAccessGuard.check("PlayerList#getPlayerByName");
+    }
+}
@@ -39,3 +39,4 @@ include("cloud-fabric")
 include("cloud-fabric/common-repack")
 findProject(":cloud-fabric/common-repack")?.name = "cloud-minecraft-modded-common-fabric-repack"
 include("cloud-neoforge")
+include("cloud-minecraft-modded-benchmarks")